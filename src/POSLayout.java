@@ -1,131 +1,153 @@
 import components.MainScreen;
 import components.FunctionPanel;
-import models.Order;
+import models.OrderStore;
+import models.TableSnapshot;
+import services.MenuCatalog;
+import services.ReceiptRenderer;
+import services.RequestQueue;
+import services.SalesAggregates;
+import services.SalesWindows;
+import services.OrderJournal;
+import services.OrderSender;
+import services.PopularityHistory;
+import services.StartupLoader;
+import services.TableSyncChannel;
+import services.TableWatermarks;
+import services.TimeClock;
+import services.TimeRecordRepository;
 
 import javax.swing.*;
-import com.google.gson.Gson;
-
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 
 import java.awt.*;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import okhttp3.*;
 
 public class POSLayout extends JFrame {
-    private final List<Order> orders;
-    private final OkHttpClient httpClient = new OkHttpClient();
-    private final Gson gson = new Gson();
+    private final OrderStore orders;
     private MainScreen mainScreen; // 클래스 변수로 선언
-    private static final String BASE_URL = "https://be-api-seven.vercel.app/";
-
-    public POSLayout() {
+    private final TableWatermarks watermarks; // 테이블별 마지막 updatedAt
+    private final StartupLoader startup; // 시작 시 병렬로 시작한 백엔드 조회
+
+    // orders는 main에서 저널로 복구한 상태 (replayed는 미전송 주문, 저널을 열지 못했으면 journalError)
+    public POSLayout(TableWatermarks watermarks, StartupLoader startup, OrderStore orders, SalesAggregates sales,
+            List<OrderJournal.PendingSubmit> replayed, IOException journalError) {
+        this.watermarks = watermarks;
+        this.startup = startup;
+        this.orders = orders;
         setTitle("POS System");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(800, 600);
         setLayout(new BorderLayout());
 
-        // 주문 데이터 초기화
-        orders = new ArrayList<>();
+        OrderSender.getInstance().addListener(this::orderRejected); // 이전 실행에서 거절된 주문 알림을 받도록 시작 전에 등록
+        if (journalError != null) {
+            JOptionPane.showMessageDialog(null, "주문 저널을 열 수 없습니다: " + journalError.getMessage());
+        } else {
+            OrderSender.getInstance().start(replayed);
+        }
+        try {
+            TimeClock.getInstance().open(); // 근무 중인 직원과 미전송 출퇴근 복구 후 전송 시작
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "출퇴근 기록부를 열 수 없습니다: " + e.getMessage());
+        }
+        SalesWindows salesWindows = new SalesWindows(orders.getMenuCodes()); // 새 주문/취소만 집계 (복구된 주문 제외)
+        orders.addSalesListener(salesWindows);
+        PopularityHistory popularity = new PopularityHistory(orders.getMenuCodes());
+        orders.addSalesListener(popularity);
 
         // MainScreen 초기화
         mainScreen = new MainScreen(orders);
         add(mainScreen, BorderLayout.CENTER);
 
         // FunctionPanel 추가
-        FunctionPanel functionPanel = new FunctionPanel(orders, mainScreen);
+        RequestQueue requestQueue = new RequestQueue();
+        FunctionPanel functionPanel = new FunctionPanel(sales, salesWindows, popularity, requestQueue, mainScreen);
         add(functionPanel, BorderLayout.EAST);
 
-        // API 호출로 초기 데이터 가져오기
+        // 시작 시 받아온 데이터는 도착하는 대로 반영
         initializeOrders();
+        startup.getRequests().thenAccept(requestQueue::update);
+        requestQueue.start(); // 이후 변경분은 폴링으로 반영
+
+        // 다른 단말/고객 앱에서 들어온 주문 실시간 반영
+        TableSyncChannel syncChannel = new TableSyncChannel(watermarks,
+                snapshot -> SwingUtilities.invokeLater(() -> applySnapshot(snapshot)));
+        syncChannel.start();
 
         setVisible(true);
+        int restoredTables = orders.getTableNumbers().size();
+        SwingUtilities.invokeLater(() -> startup.floorPainted(restoredTables)); // 첫 화면을 그린 뒤 실행됨
     }
 
+    // 저널로 복구한 상태를 먼저 보여주고 서버 데이터가 오면 교체
     private void initializeOrders() {
-        Request request = new Request.Builder()
-                .url(BASE_URL + "api/table")
-                .get()
-                .build();
-
-        httpClient.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
-                        null, "주문 데이터를 불러오지 못했습니다: " + e.getMessage()));
-                e.printStackTrace();
+        startup.getTables().whenComplete((snapshot, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                JOptionPane.showMessageDialog(null, "주문 데이터를 불러오지 못했습니다: " + cause.getMessage());
+                return;
             }
+            applySnapshot(snapshot);
+        }));
+    }
 
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                if (response.isSuccessful()) {
-                    String responseBody = response.body().string();
-                    JsonObject jsonObject = gson.fromJson(responseBody, JsonObject.class);
-                    JsonArray tableData = jsonObject.getAsJsonArray("tables");
-
-                    SwingUtilities.invokeLater(() -> {
-                        orders.clear(); // 기존 데이터 초기화
-
-                        // 테이블 데이터 처리
-                        // 테이블 데이터 처리
-                        for (JsonElement element : tableData) {
-                            if (!element.isJsonObject()) {
-                                System.out.println("Invalid table data: not a JSON object.");
-                                continue;
-                            }
-
-                            JsonObject tableObject = element.getAsJsonObject();
-                            int tableNum = tableObject.has("tableNum") ? tableObject.get("tableNum").getAsInt() : -1; // 테이블
-                                                                                                                      // 번호
-                                                                                                                      // 기본값
-
-                            if (!tableObject.has("lastOrder") || !tableObject.get("lastOrder").isJsonArray()) {
-                                System.out.println("Invalid table data: 'lastOrder' is missing or not a JSON array.");
-                                continue;
-                            }
-
-                            JsonArray lastOrder = tableObject.getAsJsonArray("lastOrder");
-
-                            for (JsonElement orderElement : lastOrder) {
-                                if (!orderElement.isJsonObject()) {
-                                    System.out.println("Invalid order data: not a JSON object.");
-                                    continue;
-                                }
-
-                                JsonObject orderObject = orderElement.getAsJsonObject();
-
-                                if (orderObject.has("name") && orderObject.has("quantity")
-                                        && orderObject.has("price")) {
-                                    String itemName = orderObject.get("name").getAsString();
-                                    String menuId = orderObject.has("menuId") ? orderObject.get("menuId").getAsString()
-                                            : null; // 메뉴 ID 처리
-                                    int quantity = orderObject.get("quantity").getAsInt();
-                                    int price = orderObject.get("price").getAsInt();
-
-                                    // `orders`에 추가
-                                    orders.add(new Order(tableNum, menuId, itemName, quantity, price));
-                                } else {
-                                    System.out.println("Invalid order object: missing required fields.");
-                                }
-                            }
-                        }
+    // 서버가 거절한 주문은 사용자가 다시 보내거나 삭제할 때까지 저널에 남음 (나중에를 고르면 다음 실행 때 다시 물어봄)
+    private void orderRejected(OrderJournal.PendingSubmit submit, String reason) {
+        String[] options = { "다시 전송", "삭제", "나중에" };
+        int choice = JOptionPane.showOptionDialog(this,
+                "테이블 " + submit.getTableNumber() + " 주문을 서버가 거절했습니다.\n" + reason,
+                "주문 전송 실패", JOptionPane.DEFAULT_OPTION, JOptionPane.WARNING_MESSAGE, null, options, options[0]);
+        if (choice == 0) {
+            if (!OrderSender.getInstance().retry(submit)) {
+                JOptionPane.showMessageDialog(this,
+                        "테이블 " + submit.getTableNumber() + "에 이후 주문이 있어 거절된 주문은 다시 보내지 않고 삭제했습니다.");
+            }
+        } else if (choice == 1) {
+            OrderSender.getInstance().discard(submit);
+        }
+    }
 
-                        // UI 갱신
-                        if (mainScreen != null) {
-                            mainScreen.updateTable(-1, new ArrayList<>(orders)); // 전체 갱신
-                        }
-                    });
-                } else {
-                    System.out.println("API 응답 실패: " + response.message());
+    // EDT에서 호출: 변경 이벤트면 해당 테이블만, 전체 데이터면 전부 교체
+    // 전송 대기 중이거나 거절된 주문이 있는 테이블은 서버 상태가 그 주문보다 오래되었으므로 로컬 주문 유지
+    // (주문은 테이블 전체를 보내므로 서버가 받은 뒤 오는 변경에는 로컬 주문이 반영되어 있음)
+    private void applySnapshot(TableSnapshot snapshot) {
+        OrderJournal journal = OrderJournal.getInstance();
+        if (snapshot.isPartial()) {
+            for (TableSnapshot.TableState state : snapshot.getTables().values()) {
+                if (journal.hasUnsent(state.getTableNumber())) {
+                    continue;
                 }
+                orders.replaceTable(state);
+                mainScreen.updateTable(state.getTableNumber());
             }
-        });
+        } else {
+            orders.replaceAll(snapshot, journal::hasUnsent); // 기존 데이터 교체
+            mainScreen.updateTable(MainScreen.ALL_TABLES);
+        }
     }
 
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(POSLayout::new);
+        // 디스크에 저장된 메뉴를 먼저 로드하고, 화면을 만들기 전에 테이블/메뉴/요청사항 조회를 동시에 시작
+        MenuCatalog.getInstance().loadSnapshot();
+        TimeRecordRepository.getInstance().loadCache();
+        TableWatermarks watermarks = new TableWatermarks();
+        StartupLoader startup = new StartupLoader(watermarks);
+        ReceiptRenderer.getInstance().warmUp(); // 영수증 폰트 미리 로드
+
+        // 저널 재생과 압축은 파일 입출력이 있으므로 EDT가 아닌 여기서 (조회는 이미 백그라운드에서 진행 중)
+        OrderStore orders = new OrderStore(MenuCatalog.getInstance().getMenuCodes());
+        SalesAggregates sales = new SalesAggregates(orders.getMenuCodes()); // 저널 재생 전에 연결해야 복구된 주문도 집계됨
+        orders.addSalesListener(sales);
+        List<OrderJournal.PendingSubmit> replayed = Collections.emptyList();
+        IOException journalError = null;
+        try {
+            replayed = OrderJournal.getInstance().open(orders);
+        } catch (IOException e) {
+            journalError = e;
+        }
+        List<OrderJournal.PendingSubmit> unsent = replayed;
+        IOException error = journalError;
+        SwingUtilities.invokeLater(() -> new POSLayout(watermarks, startup, orders, sales, unsent, error));
     }
 }
\ No newline at end of file
@@ -1,307 +1,177 @@
 package components;
 
-import models.Employee;
-import models.Order;
+import models.SalesSnapshot;
+import services.PopularityHistory;
+import services.ReceiptRenderer;
+import services.RequestQueue;
+import services.SalesAggregates;
+import services.SalesWindows;
+import services.SpaceSaving;
+import services.SalesLedger;
+import services.TimeClock;
+import services.TimeRecordRepository;
 
 import javax.swing.*;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-
 import java.awt.*;
-import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
-import okhttp3.*;
 
 public class FunctionPanel extends JPanel {
-    private final List<String> availableMenus; // 추가 가능한 메뉴 목록
-    private final Map<String, Integer> menuWithPrices = new HashMap<>();
-    private final List<Employee> employees = new ArrayList<>();
-    private final List<Order> orders; // 주문 데이터를 저장하는 리스트
-    private static final String BASE_URL = "https://be-api-seven.vercel.app/";
-    private static final OkHttpClient httpClient = new OkHttpClient();
-    private static final Gson gson = new Gson();
-
-    public FunctionPanel(List<Order> orders, MainScreen mainScreen) {
-        this.orders = orders;
-        availableMenus = new ArrayList<>();
-        setLayout(new GridLayout(4, 1, 5, 5));
+    private final SalesAggregates sales; // 실시간 매출 집계
+    private final SalesWindows salesWindows; // 최근 15분/1시간/오늘 주문 집계
+    private final PopularityHistory popularity; // 장기간 인기 메뉴 (근사치)
+    private final RequestQueue requestQueue; // 고객 요청 대기열 (폴링으로 갱신)
+    private final RequestTableModel requestModel;
+    private RequestQueueFrame requestFrame;
+    private TimeRecordFrame timeRecordFrame;
+    private TimeClockFrame timeClockFrame;
+    private JButton requestsButton;
+
+    public FunctionPanel(SalesAggregates sales, SalesWindows salesWindows, PopularityHistory popularity,
+            RequestQueue requestQueue, MainScreen mainScreen) {
+        this.sales = sales;
+        this.salesWindows = salesWindows;
+        this.popularity = popularity;
+        this.requestQueue = requestQueue;
+        requestModel = new RequestTableModel(requestQueue.getRequests());
+        requestQueue.addListener(requestModel);
+        setLayout(new GridLayout(5, 1, 5, 5));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        String[] functionNames = { "직원 관리", "현재 인기 메뉴", "현재 매출액", "요청 사항" };
+        String[] functionNames = { "직원 관리", "현재 인기 메뉴", "현재 매출액", "요청 사항", "마감 보고서" };
         for (String name : functionNames) {
             JButton functionButton = new JButton(name);
-            functionButton.addActionListener(e -> handleFunction(name, orders));
+            functionButton.addActionListener(e -> handleFunction(name));
+            if ("요청 사항".equals(name)) {
+                requestsButton = functionButton;
+            }
             add(functionButton);
         }
+        requestModel.addTableModelListener(e -> showRequestCount());
+        showRequestCount();
     }
 
-    private void handleFunction(String name, List<Order> orderList) {
+    private void handleFunction(String name) {
         switch (name) {
             case "직원 관리":
                 manageEmployees();
                 break;
             case "현재 인기 메뉴":
-                showPopularMenu(orders);
+                showPopularMenu();
                 break;
             case "현재 매출액":
-                showTotalSales(orders);
+                showTotalSales();
                 break;
             case "요청 사항":
                 showAllRequests();
                 break;
+            case "마감 보고서":
+                generateZReport();
+                break;
             default:
                 JOptionPane.showMessageDialog(this, "알 수 없는 기능입니다.");
         }
     }
 
+    // 대기열은 백그라운드에서 계속 갱신되므로 창만 띄움
     private void showAllRequests() {
-        Request request = new Request.Builder()
-                .url(BASE_URL + "api/request")
-                .get()
-                .build();
-
-        httpClient.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                SwingUtilities.invokeLater(
-                        () -> JOptionPane.showMessageDialog(null, "요청사항 데이터를 불러오는데 실패했습니다: " + e.getMessage()));
-            }
-
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                if (response.isSuccessful()) {
-                    String responseBody = response.body().string();
-                    JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
-                    JsonArray requestArray = jsonResponse.getAsJsonArray("data");
-
-                    SwingUtilities.invokeLater(() -> {
-                        if (requestArray == null || requestArray.size() == 0) {
-                            displayEmptyRequestsUI(); // 요청사항이 없을 경우 처리
-                        } else {
-                            displayRequestsUI(requestArray); // 요청사항 표시
-                        }
-                    });
-                } else {
-                    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
-                            "요청사항 데이터를 불러오는데 실패했습니다: " + response.message()));
-                }
-            }
-        });
+        if (requestFrame == null) {
+            requestFrame = new RequestQueueFrame(requestQueue, requestModel);
+        }
+        requestFrame.open();
     }
 
-    private void displayEmptyRequestsUI() {
-        // 요청사항이 없을 경우 빈 화면 표시
-        JFrame emptyRequestFrame = new JFrame("요청사항 리스트");
-        emptyRequestFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        emptyRequestFrame.setSize(500, 400);
-
-        JLabel emptyMessageLabel = new JLabel("<html>요청사항이 없습니다.</html>", SwingConstants.CENTER);
-        emptyMessageLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        emptyRequestFrame.add(emptyMessageLabel);
-
-        emptyRequestFrame.setVisible(true);
+    // 요청 사항 버튼에 남은 요청 수 표시
+    private void showRequestCount() {
+        int count = requestModel.getRowCount();
+        requestsButton.setText(count == 0 ? "요청 사항" : "요청 사항 (" + count + ")");
     }
 
-    private void displayRequestsUI(JsonArray requestArray) {
-        JFrame requestFrame = new JFrame("요청사항 리스트");
-        requestFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        requestFrame.setSize(500, 400);
-        requestFrame.setLayout(new BorderLayout());
-
-        // 요청사항 리스트 패널 생성
-        JPanel requestListPanel = new JPanel();
-        requestListPanel.setLayout(new BoxLayout(requestListPanel, BoxLayout.Y_AXIS));
-
-        // 요청사항 데이터 출력
-        for (JsonElement requestElement : requestArray) {
-            JsonObject requestObj = requestElement.getAsJsonObject();
-            int tableNum = requestObj.get("tableNum").getAsInt();
-            JsonArray requests = requestObj.getAsJsonArray("requests");
-
-            for (JsonElement element : requests) {
-                JsonObject requestDetail = element.getAsJsonObject();
-                String requestName = requestDetail.get("name").getAsString();
-
-                // 요청사항 항목 생성
-                JPanel requestItemPanel = new JPanel(new BorderLayout());
-                requestItemPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
-
-                JLabel requestLabel = new JLabel("Table " + tableNum + ": " + requestName);
-                JButton completeButton = new JButton("완료");
-
-                completeButton.addActionListener(e -> {
-                    completeButton.setEnabled(false);
-                    requestItemPanel.setBackground(Color.LIGHT_GRAY);
-                    completeButton.setText("완료됨");
-                });
-
-                requestItemPanel.add(requestLabel, BorderLayout.CENTER);
-                requestItemPanel.add(completeButton, BorderLayout.EAST);
+    // 구간별 많이 주문된 메뉴 상위 3개와 주문 금액
+    private void showPopularMenu() {
+        StringBuilder message = new StringBuilder("<html>");
+        appendWindow(message, "최근 15분", SalesWindows.Period.LAST_15_MINUTES);
+        appendWindow(message, "최근 1시간", SalesWindows.Period.LAST_HOUR);
+        appendWindow(message, "오늘", SalesWindows.Period.TODAY);
+        appendHistory(message, "최근 4주", 28);
+        message.append("</html>");
+        JOptionPane.showMessageDialog(this, new JLabel(message.toString()), "현재 인기 메뉴",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
 
-                requestListPanel.add(requestItemPanel);
-            }
+    private void appendWindow(StringBuilder message, String label, SalesWindows.Period period) {
+        SalesSnapshot window = salesWindows.getWindow(period, 3);
+        message.append("<b>").append(label).append("</b> (주문 ").append(window.getTotalSales()).append("원)<br>");
+        if (window.getTopMenus().isEmpty()) {
+            message.append("&nbsp;&nbsp;No Orders<br>");
+        }
+        for (SalesSnapshot.MenuStat menu : window.getTopMenus()) {
+            message.append("&nbsp;&nbsp;").append(menu.getName()).append(" x ").append(menu.getQuantity()).append("<br>");
         }
-
-        // 스크롤 가능하도록 설정
-        JScrollPane scrollPane = new JScrollPane(requestListPanel);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-
-        // 프레임에 스크롤 패널 추가
-        requestFrame.add(scrollPane, BorderLayout.CENTER);
-        requestFrame.setVisible(true);
     }
 
-    private void showPopularMenu(List<Order> orderList) {
-        Map<String, Integer> menuCount = new HashMap<>();
-        for (Order order : orders) {
-            menuCount.put(order.getItemName(),
-                    menuCount.getOrDefault(order.getItemName(), 0) + order.getQuantity());
+    // 근사 집계라 수량은 최대 error만큼 많게 나올 수 있음
+    private void appendHistory(StringBuilder message, String label, int days) {
+        SpaceSaving summary = popularity.getRecent(days);
+        message.append("<b>").append(label).append("</b> (오차 최대 ").append(summary.getMaxError()).append("개)<br>");
+        List<SpaceSaving.Counter> top = summary.getTop(3);
+        if (top.isEmpty()) {
+            message.append("&nbsp;&nbsp;No Orders<br>");
+        }
+        for (SpaceSaving.Counter counter : top) {
+            message.append("&nbsp;&nbsp;").append(counter.getName()).append(" x ").append(counter.getCount());
+            if (counter.getError() > 0) {
+                message.append(" (±").append(counter.getError()).append(")");
+            }
+            message.append("<br>");
         }
-        String popularMenu = menuCount.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("No Orders");
-        JOptionPane.showMessageDialog(this, "현재 인기 메뉴: " + popularMenu);
     }
 
-    private void showTotalSales(List<Order> orderList) {
-        int totalSales = orders.stream()
-                .mapToInt(order -> order.getQuantity() * order.getPrice())
-                .sum();
+    private void showTotalSales() {
+        long totalSales = sales.getSnapshot().getTotalSales();
         JOptionPane.showMessageDialog(this, "현재 매출액: " + totalSales + "원");
     }
 
+    // 오늘 마감된 주문으로 일일 마감 보고서 PDF 생성 (백그라운드)
+    private void generateZReport() {
+        LocalDate today = LocalDate.now();
+        SalesLedger.getInstance().flush()
+                .thenCompose(v -> ReceiptRenderer.getInstance().renderZReport(today))
+                .whenComplete((fileName, error) -> SwingUtilities.invokeLater(() -> {
+                    if (error == null) {
+                        JOptionPane.showMessageDialog(this, "마감 보고서가 저장되었습니다: " + fileName);
+                    } else {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        JOptionPane.showMessageDialog(this, "마감 보고서 생성 중 오류가 발생했습니다: " + cause.getMessage());
+                    }
+                }));
+    }
+
     private void manageEmployees() {
-        String[] options = { "출근", "퇴근", "출퇴근 기록 보기" };
+        String[] options = { "출퇴근 등록", "출퇴근 기록 보기" };
         String choice = (String) JOptionPane.showInputDialog(this, "직원 관리", "직원관리", JOptionPane.PLAIN_MESSAGE, null,
                 options, options[0]);
-        if ("출근".equals(choice)) {
-            checkInEmployee();
-        } else if ("퇴근".equals(choice)) {
-            checkOutEmployee();
+        if ("출퇴근 등록".equals(choice)) {
+            openTimeClock();
         } else if ("출퇴근 기록 보기".equals(choice)) {
             viewEmployeeRecords();
         }
     }
 
-    // TODO: 유저 id 값 줘야함
-    private void checkInEmployee() {
-        String name = JOptionPane.showInputDialog(this, "이름을 입력하시오: ");
-        if (name != null && !name.trim().isEmpty()) {
-            Employee employee = new Employee(name, LocalDateTime.now(), null);
-            employees.add(employee);
-            sendEmployeeDataToServer(employee, "api/time-records/clock-in");
-            JOptionPane.showMessageDialog(this, name + " 출근 등록 완료");
-        } else {
-            JOptionPane.showMessageDialog(this, "이름을 입력하시오: ");
+    // 출퇴근은 기록부에 먼저 기록하고 서버에는 백그라운드에서 모아서 전송
+    private void openTimeClock() {
+        if (timeClockFrame == null) {
+            timeClockFrame = new TimeClockFrame(TimeClock.getInstance());
         }
+        timeClockFrame.open();
     }
 
-    private void checkOutEmployee() {
-        String name = JOptionPane.showInputDialog(this, "퇴근자의 이름을 입력하시오: ");
-        if (name != null && !name.trim().isEmpty()) {
-            Employee employee = employees.stream()
-                    .filter(e -> e.getName().equals(name) && e.getCheckOutTime() == null)
-                    .findFirst()
-                    .orElse(null);
-
-            if (employee != null) {
-                employee.setCheckOutTime(LocalDateTime.now());
-                sendEmployeeDataToServer(employee, "api/time-records/clock-out");
-                JOptionPane.showMessageDialog(this, name + " 퇴근 등록 완료");
-            } else {
-                JOptionPane.showMessageDialog(this, "출근 기록이 없거나 이미 퇴근했습니다.");
-            }
-        } else {
-            JOptionPane.showMessageDialog(this, "이름을 입력하세요.");
-        }
-    }
-
-    // viewEmployeeRecords 수정
+    // 조회 창은 기간/직원 조건으로 필요한 페이지만 받음
     private void viewEmployeeRecords() {
-        Request request = new Request.Builder()
-                .url(BASE_URL + "api/time-records")
-                .build();
-
-        httpClient.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                SwingUtilities.invokeLater(
-                        () -> JOptionPane.showMessageDialog(null, "직원 데이터를 불러오는데 실패했습니다: " + e.getMessage()));
-            }
-
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                if (response.isSuccessful()) {
-                    String responseBody = response.body().string();
-                    Employee[] employeesFromServer = gson.fromJson(responseBody, Employee[].class);
-
-                    SwingUtilities.invokeLater(() -> {
-                        StringBuilder records = new StringBuilder("<html><body>");
-                        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-                        for (Employee employee : employeesFromServer) {
-                            records.append(employee.getName())
-                                    .append(" - 출근: ")
-                                    .append(employee.getCheckInTime().format(formatter));
-                            if (employee.getCheckOutTime() != null) {
-                                records.append(", 퇴근: ").append(employee.getCheckOutTime().format(formatter));
-                            } else {
-                                records.append(", 퇴근: 기록 없음");
-                            }
-                            records.append("<br>");
-                        }
-                        records.append("</body></html>");
-
-                        JOptionPane.showMessageDialog(null, new JLabel(records.toString()), "직원 출근/퇴근 기록",
-                                JOptionPane.INFORMATION_MESSAGE);
-                    });
-                } else {
-                    SwingUtilities.invokeLater(
-                            () -> JOptionPane.showMessageDialog(null, "직원 데이터를 불러오는데 실패했습니다: " + response.message()));
-                }
-            }
-        });
-    }
-
-    private void sendEmployeeDataToServer(Employee employee, String action) {
-        try {
-            String jsonData = gson.toJson(employee);
-
-            RequestBody body = RequestBody.create(jsonData, MediaType.get("application/json"));
-            Request request = new Request.Builder()
-                    .url(BASE_URL + "/time-records/" + action) // API 엔드포인트
-                    .post(body)
-                    .build();
-
-            httpClient.newCall(request).enqueue(new Callback() {
-                @Override
-                public void onFailure(Call call, IOException e) {
-                    JOptionPane.showMessageDialog(null, "데이터 전송 실패: " + e.getMessage());
-                }
-
-                @Override
-                public void onResponse(Call call, Response response) throws IOException {
-                    if (response.isSuccessful()) {
-                        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, "데이터 전송 성공!"));
-                    } else {
-                        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
-                                "데이터 전송 실패: " + response.message()));
-                    }
-                }
-            });
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "데이터 전송 실패: " + e.getMessage());
+        if (timeRecordFrame == null) {
+            timeRecordFrame = new TimeRecordFrame(TimeRecordRepository.getInstance());
         }
-
+        timeRecordFrame.open();
     }
-}
\ No newline at end of file
+}
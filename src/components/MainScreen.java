@@ -1,15 +1,32 @@
 package components;
 
-import models.Order;
+import models.OrderStore;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
 
 public class MainScreen extends JPanel {
-    private final List<Order> orders;
+    public static final int ALL_TABLES = -1; // updateTable에 넘기면 전체 테이블 갱신
+    private static final int TABLE_COUNT = 20;
+    private static final String NO_ORDERS_TEXT = "<html><center>No Orders</center></html>";
+
+    private final OrderStore orders;
+    private final TableTile[] tiles = new TableTile[TABLE_COUNT + 1]; // 테이블 번호로 접근 (0번 미사용)
+
+    // 테이블 버튼과 마지막으로 표시한 상태
+    private static class TableTile {
+        private final JButton button;
+        private final JLabel summaryLabel;
+        private String summaryText = NO_ORDERS_TEXT;
+        private Color color = Color.LIGHT_GRAY;
+
+        private TableTile(JButton button, JLabel summaryLabel) {
+            this.button = button;
+            this.summaryLabel = summaryLabel;
+        }
+    }
 
-    public MainScreen(List<Order> orders) {
+    public MainScreen(OrderStore orders) {
         this.orders = orders;
         setLayout(new BorderLayout());
         createMainScreen();
@@ -20,7 +37,7 @@ public class MainScreen extends JPanel {
         orderPanel.setLayout(new GridLayout(4, 5, 5, 5));
         orderPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        for (int i = 1; i <= 20; i++) {
+        for (int i = 1; i <= TABLE_COUNT; i++) {
             JButton tableButton = createTableButton(i);
             orderPanel.add(tableButton);
         }
@@ -40,57 +57,58 @@ public class MainScreen extends JPanel {
         tableLabel.setFont(new Font("Arial", Font.BOLD, 14));
         tableButton.add(tableLabel, BorderLayout.NORTH);
 
-        JLabel orderSummaryLabel = new JLabel("<html><center>No Orders</center></html>", SwingConstants.CENTER);
+        JLabel orderSummaryLabel = new JLabel(NO_ORDERS_TEXT, SwingConstants.CENTER);
         tableButton.add(orderSummaryLabel, BorderLayout.CENTER);
 
-        updateButtonAppearance(tableButton, orderSummaryLabel, tableNumber);
+        tiles[tableNumber] = new TableTile(tableButton, orderSummaryLabel);
+        updateButtonAppearance(tableNumber);
 
         // ActionListener 추가
         tableButton.addActionListener(e -> {
-            JFrame parentFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
             new TableDetailsScreen(tableNumber, orders, this); // 세부 내용 화면 호출
         });
 
         return tableButton;
     }
 
-    private void updateButtonAppearance(JButton tableButton, JLabel orderSummaryLabel, int tableNumber) {
-        boolean hasOrder = false;
-
-        // 테이블에 해당하는 주문 데이터 확인
-        for (Order order : orders) {
-            if (order.getTableNumber() == tableNumber) {
-                tableButton.setBackground(Color.PINK); // 주문이 있는 테이블은 핑크색으로 표시
-                int total = orders.stream()
-                        .filter(o -> o.getTableNumber() == tableNumber)
-                        .mapToInt(o -> o.getPrice() * o.getQuantity())
-                        .sum();
-                orderSummaryLabel.setText(String.format(
-                        "<html><center>%s 외 %d개<br>합계: %d원</center></html>",
-                        order.getItemName(), // 첫 번째 주문의 메뉴명
-                        (int) orders.stream().filter(o -> o.getTableNumber() == tableNumber).count() - 1, // 추가 주문 개수
-                        total // 합계
-                ));
-                hasOrder = true;
-                break;
-            }
+    // 변경된 부분만 다시 그림 (텍스트/색상이 같으면 그대로 둠)
+    private void updateButtonAppearance(int tableNumber) {
+        TableTile tile = tiles[tableNumber];
+        String summaryText;
+        Color color;
+
+        if (orders.hasOrders(tableNumber)) {
+            color = Color.PINK; // 주문이 있는 테이블은 핑크색으로 표시
+            summaryText = String.format(
+                    "<html><center>%s 외 %d개<br>합계: %d원</center></html>",
+                    orders.getFirstItemName(tableNumber), // 첫 번째 주문의 메뉴명
+                    orders.getLineCount(tableNumber) - 1, // 추가 주문 개수
+                    orders.getTotal(tableNumber) // 합계
+            );
+        } else {
+            color = Color.LIGHT_GRAY; // 주문이 없는 경우 기본 색상
+            summaryText = NO_ORDERS_TEXT;
         }
 
-        if (!hasOrder) {
-            tableButton.setBackground(Color.LIGHT_GRAY); // 주문이 없는 경우 기본 색상
-            orderSummaryLabel.setText("<html><center>No Orders</center></html>");
+        if (!color.equals(tile.color)) {
+            tile.color = color;
+            tile.button.setBackground(color);
+        }
+        if (!summaryText.equals(tile.summaryText)) {
+            tile.summaryText = summaryText;
+            tile.summaryLabel.setText(summaryText);
         }
     }
 
-    public void updateTable(int tableNumber, List<Order> updatedOrders) {
-        System.out.println("업데이트된 테이블 번호: " + tableNumber);
-        System.out.println("업데이트된 주문 데이터: " + updatedOrders);
-        orders.clear();
-        orders.addAll(updatedOrders);
-        removeAll(); // 기존 UI 제거
-        createMainScreen(); // 새로운 UI 생성
-        revalidate();
-        repaint();
+    // tableNumber가 ALL_TABLES면 전체 테이블 갱신, 화면에 없는 번호는 무시
+    public void updateTable(int tableNumber) {
+        if (tableNumber == ALL_TABLES) {
+            for (int i = 1; i <= TABLE_COUNT; i++) {
+                updateButtonAppearance(i);
+            }
+        } else if (tableNumber >= 1 && tableNumber <= TABLE_COUNT) {
+            updateButtonAppearance(tableNumber);
+        }
     }
 
 }
@@ -0,0 +1,111 @@
+package components;
+
+import models.CustomerRequest;
+import services.RequestLatency;
+import services.RequestQueue;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Map;
+
+// 고객 요청 대기열 창 (한 번 만들어 두고 다시 열 때는 앞으로 가져옴)
+// 더블클릭 또는 "완료" 버튼으로 선택한 요청을 완료 처리
+public class RequestQueueFrame extends JFrame {
+    private final RequestQueue queue;
+    private final RequestTableModel model;
+    private final JTable table;
+    private final Timer clock; // 대기 시간 갱신 (창이 보일 때만)
+
+    public RequestQueueFrame(RequestQueue queue, RequestTableModel model) {
+        super("요청사항 리스트");
+        this.queue = queue;
+        this.model = model;
+        setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+        setSize(500, 400);
+        setLayout(new BorderLayout());
+
+        table = new JTable(model);
+        table.setRowHeight(28);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(0).setPreferredWidth(70);
+        table.getColumnModel().getColumn(1).setPreferredWidth(300);
+        table.getColumnModel().getColumn(2).setPreferredWidth(90);
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    completeSelected();
+                }
+            }
+        });
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JButton completeButton = new JButton("완료");
+        completeButton.addActionListener(e -> completeSelected());
+        JButton statsButton = new JButton("응답 시간");
+        statsButton.addActionListener(e -> showLatency());
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 2, 10, 10));
+        buttonPanel.add(completeButton);
+        buttonPanel.add(statsButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        clock = new Timer(1000, e -> model.refreshWaitingTimes());
+    }
+
+    public void open() {
+        clock.start();
+        setVisible(true);
+        toFront();
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (!visible) {
+            clock.stop();
+        }
+    }
+
+    private void completeSelected() {
+        int[] rows = table.getSelectedRows();
+        CustomerRequest[] selected = new CustomerRequest[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            selected[i] = model.getRequest(table.convertRowIndexToModel(rows[i]));
+        }
+        for (CustomerRequest request : selected) {
+            queue.complete(request).whenComplete((v, error) -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                            "요청 완료를 서버에 알리지 못했습니다: " + cause.getMessage()));
+                }
+            });
+        }
+    }
+
+    // 테이블별 생성 → 완료 시간 (최근 완료 기준)
+    private void showLatency() {
+        RequestLatency latency = queue.getLatency();
+        RequestLatency.Stats overall = latency.getOverall();
+        if (overall.getCount() == 0) {
+            JOptionPane.showMessageDialog(this, "아직 완료된 요청이 없습니다.");
+            return;
+        }
+        StringBuilder message = new StringBuilder("<html>");
+        appendStats(message, "전체", overall);
+        for (Map.Entry<Integer, RequestLatency.Stats> entry : latency.getByTable().entrySet()) {
+            appendStats(message, "Table " + entry.getKey(), entry.getValue());
+        }
+        message.append("</html>");
+        JOptionPane.showMessageDialog(this, new JLabel(message.toString()), "요청 응답 시간",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private static void appendStats(StringBuilder message, String label, RequestLatency.Stats stats) {
+        message.append("<b>").append(label).append("</b> (").append(stats.getCount()).append("건) p50 ")
+                .append(RequestTableModel.formatDuration(stats.getP50())).append(", p95 ")
+                .append(RequestTableModel.formatDuration(stats.getP95())).append("<br>");
+    }
+}
@@ -0,0 +1,89 @@
+package components;
+
+import models.CustomerRequest;
+import services.RequestQueue;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 대기 중인 고객 요청 목록 (오래된 순), 대기열의 추가/삭제만 반영하고 바뀐 행만 알림
+// JTable은 보이는 행만 그리므로 요청이 많아도 행마다 컴포넌트를 만들지 않음
+public class RequestTableModel extends AbstractTableModel implements RequestQueue.Listener {
+    private static final String[] COLUMNS = { "테이블", "요청", "대기 시간" };
+
+    private final List<CustomerRequest> rows = new ArrayList<>();
+    private final Set<String> ids = new HashSet<>();
+
+    public RequestTableModel(List<CustomerRequest> initial) {
+        requestsChanged(initial, new HashSet<>());
+    }
+
+    @Override
+    public void requestsChanged(List<CustomerRequest> added, Set<String> removedIds) {
+        for (int i = rows.size() - 1; i >= 0 && !removedIds.isEmpty(); i--) {
+            if (removedIds.contains(rows.get(i).getId())) {
+                ids.remove(rows.remove(i).getId());
+                fireTableRowsDeleted(i, i);
+            }
+        }
+        for (CustomerRequest request : added) {
+            if (!ids.add(request.getId())) {
+                continue; // 이미 표시 중
+            }
+            int index = rows.size();
+            while (index > 0 && rows.get(index - 1).getCreatedAt() > request.getCreatedAt()) {
+                index--;
+            }
+            rows.add(index, request);
+            fireTableRowsInserted(index, index);
+        }
+    }
+
+    public CustomerRequest getRequest(int row) {
+        return rows.get(row);
+    }
+
+    // 대기 시간 열만 다시 그림 (1초마다)
+    public void refreshWaitingTimes() {
+        if (!rows.isEmpty()) {
+            fireTableChanged(new TableModelEvent(this, 0, rows.size() - 1, 2));
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        CustomerRequest request = rows.get(row);
+        switch (column) {
+            case 0:
+                return "Table " + request.getTableNumber();
+            case 1:
+                return request.getName();
+            default:
+                return formatDuration(System.currentTimeMillis() - request.getCreatedAt());
+        }
+    }
+
+    static String formatDuration(long millis) {
+        long seconds = Math.max(0, millis / 1000);
+        return seconds < 60 ? seconds + "초" : seconds / 60 + "분 " + seconds % 60 + "초";
+    }
+}
@@ -1,39 +1,62 @@
 package components;
 
+import models.Menu;
+import models.MenuItem;
 import models.Order;
-import okhttp3.*;
+import models.OrderStore;
+import models.Receipt;
+import services.EscPosPrinter;
+import services.MenuCatalog;
+import services.OrderSender;
+import services.ReceiptOutput;
+import services.ReceiptRenderer;
+import services.SalesLedger;
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.IOException;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 public class TableDetailsScreen extends JFrame {
+    // -Dpos.receipt.output=escpos 이면 감열 프린터로 직접 출력, 기본은 PDF
+    private static final boolean ESC_POS_RECEIPTS = "escpos".equals(System.getProperty("pos.receipt.output"));
     private final MainScreen mainScreen;
-    private final List<Order> orders;
+    private final OrderStore orders;
     private final List<Integer> reservedTables = new ArrayList<>();
-    private final List<String> availableMenus = new ArrayList<>();
-    private final Map<String, Integer> menuWithPrices = new HashMap<>();
-    private final Map<String, String> menuWithIds = new HashMap<>();
-    private static final String BASE_URL = "https://be-api-seven.vercel.app/";
-    private final OkHttpClient httpClient = new OkHttpClient();
+    private Menu menu; // 공유 메뉴 캐시에서 가져온 메뉴
     private final Gson gson = new Gson();
 
-    public TableDetailsScreen(int tableNumber, List<Order> orders, MainScreen mainScreen) {
+    private static final Duration MENU_TIMEOUT = Duration.ofSeconds(15);
+
+    public TableDetailsScreen(int tableNumber, OrderStore orders, MainScreen mainScreen) {
         this.orders = orders;
         this.mainScreen = mainScreen;
 
-        initializeMenusFromAPI(() -> setupScreen(tableNumber));
+        showLoading(tableNumber);
+        initializeMenusFromAPI(() -> {
+            getContentPane().removeAll();
+            setupScreen(tableNumber);
+            revalidate();
+            repaint();
+        });
+    }
+
+    // 메뉴를 기다리는 동안에도 창을 띄워 닫을 수 있게 함
+    private void showLoading(int tableNumber) {
+        setTitle("테이블 세부 정보 - Table " + tableNumber);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setSize(800, 600);
+        add(new JLabel("메뉴를 불러오는 중...", SwingConstants.CENTER));
+        setVisible(true);
     }
 
     private void setupScreen(int tableNumber) {
@@ -61,19 +84,15 @@ public class TableDetailsScreen extends JFrame {
         orderListPanel.setBorder(BorderFactory.createTitledBorder("주문 목록"));
 
         JPanel orderItemsPanel = new JPanel(new GridLayout(0, 3, 10, 10)); // 주문 항목
-        int totalAmount = 0;
-
-        for (Order order : orders) {
-            if (order.getTableNumber() == tableNumber) {
-                // 주문 정보를 패널에 추가
-                orderItemsPanel.add(new JLabel(order.getItemName()));
-                orderItemsPanel.add(new JLabel("(" + order.getQuantity() + ")"));
-                orderItemsPanel.add(new JLabel(order.getPrice() * order.getQuantity() + "원"));
-                totalAmount += order.getPrice() * order.getQuantity();
-            }
+
+        for (Order order : orders.getOrders(tableNumber)) {
+            // 주문 정보를 패널에 추가
+            orderItemsPanel.add(new JLabel(order.getItemName()));
+            orderItemsPanel.add(new JLabel("(" + order.getQuantity() + ")"));
+            orderItemsPanel.add(new JLabel(order.getPrice() * order.getQuantity() + "원"));
         }
 
-        JLabel totalLabel = new JLabel("합계: " + totalAmount + "원"); // 총 금액
+        JLabel totalLabel = new JLabel("합계: " + orders.getTotal(tableNumber) + "원"); // 총 금액
         totalLabel.setHorizontalAlignment(SwingConstants.RIGHT);
         totalLabel.setFont(new Font("Arial", Font.BOLD, 14));
 
@@ -87,17 +106,18 @@ public class TableDetailsScreen extends JFrame {
         JPanel menuPanel = new JPanel(new GridLayout(4, 4, 10, 10));
         menuPanel.setBorder(BorderFactory.createTitledBorder("추가할 메뉴"));
 
-        for (String menu : availableMenus) {
-            int price = menuWithPrices.getOrDefault(menu, 0);
-            JButton menuButton = new JButton("<html>" + menu + "<br>" + price + "원</html>");
+        for (MenuItem menuItem : menu.getItems()) {
+            String menuName = menuItem.getName();
+            int price = menuItem.getPrice();
+            JButton menuButton = new JButton("<html>" + menuName + "<br>" + price + "원</html>");
             menuButton.addActionListener(e -> {
-                String menuId = menuWithIds.get(menu); // menuId 가져오기
+                String menuId = menuItem.getId(); // menuId 가져오기
                 if (menuId != null) { // menuId가 존재하는지 확인
-                    System.out.println("Selected Menu: " + menu + ", Menu ID: " + menuId); // 디버깅 출력
-                    orders.add(new Order(tableNumber, menuId, menu, 1, price)); // menuId 포함 생성자 사용
+                    System.out.println("Selected Menu: " + menuName + ", Menu ID: " + menuId); // 디버깅 출력
+                    orders.addOrder(new Order(tableNumber, menuId, menuName, 1, price)); // menuId 포함 생성자 사용
                     refreshScreen(tableNumber);
                 } else {
-                    JOptionPane.showMessageDialog(this, "선택한 메뉴의 ID를 찾을 수 없습니다: " + menu);
+                    JOptionPane.showMessageDialog(this, "선택한 메뉴의 ID를 찾을 수 없습니다: " + menuName);
                 }
             });
 
@@ -124,10 +144,11 @@ public class TableDetailsScreen extends JFrame {
 
         JButton receiptButton = new JButton("영수증");
         receiptButton.addActionListener(e -> {
-            generateReceipt(tableNumber);
-            clearOrdersForTable(tableNumber);
-            mainScreen.updateTable(tableNumber, new ArrayList<>(orders));
-            dispose();
+            if (generateReceipt(tableNumber)) {
+                orders.settleTable(tableNumber); // 렌더링은 복사본으로 진행되므로 바로 비워도 됨
+                mainScreen.updateTable(tableNumber);
+                dispose();
+            }
         });
 
         JButton reserveButton = new JButton("예약");
@@ -137,7 +158,7 @@ public class TableDetailsScreen extends JFrame {
         orderButton.addActionListener(e -> {
             sendOrdersToServer(tableNumber);
             JOptionPane.showMessageDialog(this, "주문이 완료되었습니다!");
-            mainScreen.updateTable(tableNumber, new ArrayList<>(orders));
+            mainScreen.updateTable(tableNumber);
             dispose();
         });
 
@@ -153,52 +174,25 @@ public class TableDetailsScreen extends JFrame {
 
     private void sendOrdersToServer(int tableNumber) {
         List<Map<String, Object>> orderItems = new ArrayList<>();
-        int totalPrice = 0;
-
-        for (Order order : orders) {
-            if (order.getTableNumber() == tableNumber) {
-                Map<String, Object> orderEntry = new HashMap<>();
-                orderEntry.put("menuId", order.getMenuId()); // menuId 추가
-                orderEntry.put("name", order.getItemName());
-                orderEntry.put("quantity", order.getQuantity());
-                orderEntry.put("price", order.getPrice());
-                orderItems.add(orderEntry);
-
-                totalPrice += order.getPrice() * order.getQuantity();
-            }
+
+        for (Order order : orders.getOrders(tableNumber)) {
+            Map<String, Object> orderEntry = new HashMap<>();
+            orderEntry.put("menuId", order.getMenuId()); // menuId 추가
+            orderEntry.put("name", order.getItemName());
+            orderEntry.put("quantity", order.getQuantity());
+            orderEntry.put("price", order.getPrice());
+            orderItems.add(orderEntry);
         }
 
         Map<String, Object> orderData = new HashMap<>();
         orderData.put("orderItems", orderItems);
-        orderData.put("totalPrice", totalPrice);
+        orderData.put("totalPrice", orders.getTotal(tableNumber));
 
         String jsonData = gson.toJson(orderData);
         System.out.println("Generated JSON: " + jsonData);
 
-        RequestBody body = RequestBody.create(jsonData, MediaType.get("application/json"));
-        Request request = new Request.Builder()
-                .url(BASE_URL + "api/table/new_order?tableNum=" + tableNumber)
-                .post(body)
-                .build();
-
-        httpClient.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                System.err.println("주문 데이터 전송 실패: " + e.getMessage()); // 터미널에 실패 메시지 출력
-            }
-
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                String responseBody = response.body() != null ? response.body().string() : "No Response Body";
-                System.out.println("Response Code: " + response.code());
-                System.out.println("Response Body: " + responseBody);
-                if (response.isSuccessful()) {
-                    System.out.println("주문이 성공적으로 저장되었습니다! 응답: " + responseBody); // 성공 메시지 출력
-                } else {
-                    System.err.println("주문 데이터 전송 실패: " + response.code() + " 응답: " + responseBody); // 실패 메시지 출력
-                }
-            }
-        });
+        // 저널에 기록된 후 백그라운드에서 전송 (실패 시 재시도, 재시작 후에도 이어서 전송)
+        OrderSender.getInstance().submit(tableNumber, jsonData);
     }
 
     private void refreshScreen(int tableNumber) {
@@ -211,7 +205,7 @@ public class TableDetailsScreen extends JFrame {
     }
 
     private void clearOrdersForTable(int tableNumber) {
-        orders.removeIf(order -> order.getTableNumber() == tableNumber);
+        orders.clearTable(tableNumber);
     }
 
     private void adjustQuantity(int tableNumber, int adjustment) {
@@ -221,20 +215,11 @@ public class TableDetailsScreen extends JFrame {
                 "수량 조정",
                 JOptionPane.PLAIN_MESSAGE,
                 null,
-                orders.stream().filter(order -> order.getTableNumber() == tableNumber)
-                        .map(Order::getItemName).toArray(),
+                orders.getOrders(tableNumber).stream().map(Order::getItemName).toArray(),
                 null);
 
         if (selectedMenu != null) {
-            for (Order order : orders) {
-                if (order.getTableNumber() == tableNumber && order.getItemName().equals(selectedMenu)) {
-                    order.setQuantity(order.getQuantity() + adjustment);
-                    if (order.getQuantity() <= 0) {
-                        orders.remove(order);
-                    }
-                    break;
-                }
-            }
+            orders.changeQuantity(tableNumber, selectedMenu, adjustment); // 수량이 0이 되면 삭제됨
             refreshScreen(tableNumber);
         }
     }
@@ -248,98 +233,71 @@ public class TableDetailsScreen extends JFrame {
         }
     }
 
+    // 캐시된 메뉴가 있으면 네트워크 요청 없이 바로 화면 구성
+    // 공유 메뉴 조회 결과를 스레드를 잡아 두지 않고 EDT에서 받음 (시간 제한은 Swing Timer)
+    // 화면이 닫히면 타이머를 멈추고 이 화면의 대기만 취소 (공유 메뉴 조회 자체는 다른 화면을 위해 계속됨)
     private void initializeMenusFromAPI(Runnable onComplete) {
-        Request request = new Request.Builder()
-                .url(BASE_URL + "api/menu")
-                .get()
-                .build();
-
-        httpClient.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
-                        null, "메뉴를 불러오는데 실패했습니다: " + e.getMessage()));
+        Timer timeout = new Timer((int) MENU_TIMEOUT.toMillis(),
+                e -> menuLoaded(null, new TimeoutException(), onComplete));
+        timeout.setRepeats(false);
+        timeout.start();
+        CompletableFuture<Menu> pending = MenuCatalog.getInstance().getMenu().thenApply(loaded -> loaded);
+        pending.whenComplete((loadedMenu, error) -> SwingUtilities.invokeLater(() -> {
+            if (timeout.isRunning()) {
+                timeout.stop();
+                menuLoaded(loadedMenu, error, onComplete);
             }
-
+        }));
+        addWindowListener(new WindowAdapter() {
             @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                if (response.isSuccessful()) {
-                    String responseBody = response.body().string();
-                    System.out.println("Menu API Response: " + responseBody); // 응답 데이터 디버깅
-                    JsonObject jsonObject = gson.fromJson(responseBody, JsonObject.class);
-                    JsonArray menuArray = jsonObject.getAsJsonArray("menuItems");
-
-                    SwingUtilities.invokeLater(() -> {
-                        availableMenus.clear();
-                        menuWithPrices.clear();
-                        menuWithIds.clear();
-
-                        for (int i = 0; i < menuArray.size(); i++) {
-                            JsonObject menuItem = menuArray.get(i).getAsJsonObject();
-                            String menuName = menuItem.get("name").getAsString();
-                            String menuId = menuItem.get("_id").getAsString(); // `_id` 필드로 수정
-                            int menuPrice = menuItem.get("price").getAsInt();
-
-                            availableMenus.add(menuName);
-                            menuWithPrices.put(menuName, menuPrice);
-                            menuWithIds.put(menuName, menuId); // menuWithIds에 저장
-                        }
-
-                        System.out.println("Available Menus: " + availableMenus); // 메뉴 디버깅
-                        System.out.println("Menu IDs: " + menuWithIds); // menuId 매핑 디버깅
-
-                        onComplete.run();
-                    });
-                } else {
-                    System.out.println("Menu API Response Failed: " + response.message());
-                }
+            public void windowClosed(WindowEvent e) {
+                timeout.stop();
+                pending.cancel(false); // 나중에 메뉴가 와도 이 화면으로는 전달되지 않음
             }
         });
     }
 
-    private void generateReceipt(int tableNumber) {
-        try {
-            // PDF 파일 이름 설정
-            String fileName = "Receipt_Table_" + tableNumber + ".pdf";
-
-            // PdfWriter와 PdfDocument 생성
-            PdfWriter writer = new PdfWriter(fileName);
-            PdfDocument pdf = new PdfDocument(writer);
-
-            // Document 생성
-            Document document = new Document(pdf);
-
-            // PDF 내용 작성
-            document.add(new Paragraph("영수증").setBold().setFontSize(16));
-            document.add(new Paragraph("Table: " + tableNumber));
-            document.add(new Paragraph("----------------------"));
-
-            int totalAmount = 0;
-            for (Order order : orders) {
-                if (order.getTableNumber() == tableNumber) {
-                    // 주문 항목 추가 (메뉴명, 수량, 가격을 모두 표시)
-                    String orderDetails = String.format(
-                            "%s x %d = %d원", // 메뉴명 x 수량 = 총 가격
-                            order.getItemName(),
-                            order.getQuantity(),
-                            order.getQuantity() * order.getPrice());
-                    document.add(new Paragraph(orderDetails)); // PDF에 추가
-                    totalAmount += order.getQuantity() * order.getPrice();
-                }
-            }
-
-            // 총 합계 추가
-            document.add(new Paragraph("----------------------"));
-            document.add(new Paragraph("총 합계: " + totalAmount + "원").setBold());
+    private void menuLoaded(Menu loadedMenu, Throwable error, Runnable onComplete) {
+        if (!isDisplayable()) {
+            return; // 화면이 이미 닫힘
+        }
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            JOptionPane.showMessageDialog(this, "메뉴를 불러오는데 실패했습니다: "
+                    + (cause instanceof TimeoutException ? "응답 시간 초과" : cause.getMessage()));
+            dispose();
+            return;
+        }
+        menu = loadedMenu;
+        onComplete.run();
+    }
 
-            // Document 닫기
-            document.close();
+    private static ReceiptOutput receiptOutput() {
+        return ESC_POS_RECEIPTS ? EscPosPrinter.getInstance() : ReceiptRenderer.getInstance();
+    }
 
-            // PDF 생성 성공 메시지
-            JOptionPane.showMessageDialog(this, "영수증이 저장되었습니다: " + fileName);
-        } catch (Exception e) {
-            // 오류 메시지 표시
-            JOptionPane.showMessageDialog(this, "영수증 생성 중 오류가 발생했습니다: " + e.getMessage());
+    // 클릭 시점의 주문을 복사해 백그라운드에서 렌더링 (완료 여부는 나중에 알림)
+    private boolean generateReceipt(int tableNumber) {
+        Receipt receipt = Receipt.of(tableNumber, orders.getOrders(tableNumber));
+        try {
+            receiptOutput().render(receipt).whenComplete((fileName, error) -> SwingUtilities
+                    .invokeLater(() -> {
+                        if (error == null) {
+                            // 출력 성공 메시지
+                            JOptionPane.showMessageDialog(mainScreen,
+                                    (ESC_POS_RECEIPTS ? "영수증을 출력했습니다: " : "영수증이 저장되었습니다: ") + fileName);
+                        } else {
+                            // 오류 메시지 표시
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            JOptionPane.showMessageDialog(mainScreen,
+                                    "영수증 생성 중 오류가 발생했습니다: " + cause.getMessage());
+                        }
+                    }));
+            SalesLedger.getInstance().record(receipt); // 마감된 주문으로 기록
+            return true;
+        } catch (RejectedExecutionException e) {
+            JOptionPane.showMessageDialog(this, "영수증 대기열이 가득 찼습니다. 잠시 후 다시 시도하세요.");
+            return false;
         }
     }
-}
\ No newline at end of file
+}
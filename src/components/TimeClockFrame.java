@@ -0,0 +1,180 @@
+package components;
+
+import models.Employee;
+import services.TimeClock;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+// 출퇴근 등록 창 (한 번 만들어 두고 다시 열 때는 앞으로 가져옴)
+// 이름을 입력하고 Enter를 누르면 근무 중이 아니면 출근, 근무 중이면 퇴근 (교대 시간에 여러 명이 연달아 찍을 수 있도록
+// 확인 창 없이 결과는 아래 상태 줄에 표시), 근무 중인 직원 목록에서 선택해 퇴근할 수도 있음
+public class TimeClockFrame extends JFrame implements TimeClock.Listener {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final TimeClock timeClock;
+    private final OpenShiftModel model = new OpenShiftModel();
+    private final JTable table = new JTable(model);
+    private final JTextField nameField = new JTextField(12);
+    private final JLabel statusLabel = new JLabel(" ");
+    private final Timer clock; // 근무 시간 갱신 (창이 보일 때만)
+    private String lastAction = "";
+
+    public TimeClockFrame(TimeClock timeClock) {
+        super("출퇴근 등록");
+        this.timeClock = timeClock;
+        setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+        setSize(450, 450);
+        setLayout(new BorderLayout());
+
+        JPanel punchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        punchPanel.add(new JLabel("이름"));
+        punchPanel.add(nameField);
+        JButton inButton = new JButton("출근");
+        inButton.addActionListener(e -> punch(true));
+        JButton outButton = new JButton("퇴근");
+        outButton.addActionListener(e -> punch(false));
+        punchPanel.add(inButton);
+        punchPanel.add(outButton);
+        nameField.addActionListener(e -> toggle());
+        add(punchPanel, BorderLayout.NORTH);
+
+        table.setRowHeight(24);
+        table.setFillsViewportHeight(true);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            int row = table.getSelectedRow();
+            if (!e.getValueIsAdjusting() && row >= 0) {
+                nameField.setText(model.getShift(table.convertRowIndexToModel(row)).getName());
+            }
+        });
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+
+        clock = new Timer(30_000, e -> {
+            if (model.getRowCount() > 0) {
+                model.fireTableRowsUpdated(0, model.getRowCount() - 1);
+            }
+        });
+        timeClock.addListener(this);
+        timeClockChanged();
+    }
+
+    public void open() {
+        clock.start();
+        setVisible(true);
+        toFront();
+        nameField.requestFocusInWindow();
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (!visible) {
+            clock.stop();
+        }
+    }
+
+    private void toggle() {
+        String name = nameField.getText().trim();
+        if (!name.isEmpty()) {
+            punch(!timeClock.isWorking(name));
+        }
+    }
+
+    // 기록부에 저장된 뒤 반환되고 서버 전송은 백그라운드에서 모아서 처리
+    private void punch(boolean clockIn) {
+        String name = nameField.getText().trim();
+        if (name.isEmpty()) {
+            lastAction = "이름을 입력하세요.";
+            showStatus();
+            return;
+        }
+        try {
+            Employee shift = clockIn ? timeClock.clockIn(name) : timeClock.clockOut(name);
+            lastAction = clockIn
+                    ? name + " 출근 " + shift.getCheckInTime().format(TIME)
+                    : name + " 퇴근 " + shift.getCheckOutTime().format(TIME) + " (" + worked(shift) + ")";
+            nameField.setText("");
+        } catch (IllegalStateException e) {
+            lastAction = e.getMessage();
+            nameField.selectAll();
+        }
+        showStatus();
+        nameField.requestFocusInWindow();
+    }
+
+    @Override
+    public void timeClockChanged() {
+        model.setShifts(timeClock.getOpenShifts());
+        showStatus();
+    }
+
+    private void showStatus() {
+        StringBuilder status = new StringBuilder(lastAction);
+        int pending = timeClock.getPendingCount();
+        if (pending > 0) {
+            status.append(status.length() > 0 ? " · " : "").append("서버 전송 대기 ").append(pending).append("건");
+            String error = timeClock.getLastError();
+            if (error != null) {
+                status.append(" (전송 실패: ").append(error).append(", 재시도 중)");
+            }
+        }
+        statusLabel.setText(status.length() > 0 ? status.toString() : " ");
+    }
+
+    private static String worked(Employee shift) {
+        LocalDateTime end = shift.isClosed() ? shift.getCheckOutTime() : LocalDateTime.now();
+        Duration duration = Duration.between(shift.getCheckInTime(), end);
+        return duration.toHours() + "시간 " + duration.toMinutes() % 60 + "분";
+    }
+
+    // 근무 중인 직원 (출근 순)
+    private static class OpenShiftModel extends AbstractTableModel {
+        private static final String[] COLUMNS = { "이름", "출근", "근무 시간" };
+        private List<Employee> shifts = new ArrayList<>();
+
+        void setShifts(List<Employee> shifts) {
+            this.shifts = shifts;
+            fireTableDataChanged();
+        }
+
+        Employee getShift(int row) {
+            return shifts.get(row);
+        }
+
+        @Override
+        public int getRowCount() {
+            return shifts.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            Employee shift = shifts.get(row);
+            switch (column) {
+                case 0:
+                    return shift.getName();
+                case 1:
+                    return shift.getCheckInTime().format(TIME);
+                default:
+                    return worked(shift);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package components;
+
+import services.TimeRecordQuery;
+import services.TimeRecordRepository;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// 직원 출퇴근 기록 조회 창 (한 번 만들어 두고 다시 열 때는 앞으로 가져옴)
+// 기본 조건은 최근 7일 전체 직원, 기간(yyyy-MM-dd)과 이름으로 다시 조회
+public class TimeRecordFrame extends JFrame {
+    private static final int DEFAULT_DAYS = 7;
+
+    private final TimeRecordTableModel model;
+    private final JTextField fromField = new JTextField(10);
+    private final JTextField toField = new JTextField(10);
+    private final JTextField nameField = new JTextField(8);
+    private final JLabel statusLabel = new JLabel(" ");
+
+    public TimeRecordFrame(TimeRecordRepository repository) {
+        super("직원 출근/퇴근 기록");
+        model = new TimeRecordTableModel(repository, statusLabel::setText);
+        setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+        setSize(600, 500);
+        setLayout(new BorderLayout());
+
+        JPanel queryPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        queryPanel.add(new JLabel("기간"));
+        queryPanel.add(fromField);
+        queryPanel.add(new JLabel("~"));
+        queryPanel.add(toField);
+        queryPanel.add(new JLabel("이름"));
+        queryPanel.add(nameField);
+        JButton searchButton = new JButton("조회");
+        searchButton.addActionListener(e -> search());
+        queryPanel.add(searchButton);
+        getRootPane().setDefaultButton(searchButton);
+        add(queryPanel, BorderLayout.NORTH);
+
+        JTable table = new JTable(model);
+        table.setRowHeight(24);
+        table.setFillsViewportHeight(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+
+        LocalDate today = LocalDate.now();
+        fromField.setText(today.minusDays(DEFAULT_DAYS - 1).toString());
+        toField.setText(today.toString());
+    }
+
+    // 창을 열 때마다 현재 조건으로 다시 조회 (지난 날짜는 캐시에서 바로 표시)
+    public void open() {
+        search();
+        setVisible(true);
+        toFront();
+    }
+
+    private void search() {
+        TimeRecordQuery query;
+        try {
+            query = new TimeRecordQuery(LocalDate.parse(fromField.getText().trim()),
+                    LocalDate.parse(toField.getText().trim()), nameField.getText());
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            statusLabel.setText("기간을 yyyy-MM-dd 형식으로 입력하세요: " + e.getMessage());
+            return;
+        }
+        model.setQuery(query);
+    }
+}
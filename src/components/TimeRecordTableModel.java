@@ -0,0 +1,118 @@
+package components;
+
+import models.Employee;
+import services.TimeRecordQuery;
+import services.TimeRecordRepository;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// 출퇴근 기록 표 (EDT에서만 사용)
+// 행 수는 첫 페이지의 전체 건수로 정하고, 아직 받지 않은 행이 그려질 때 그 페이지만 요청
+// JTable은 보이는 행만 그리므로 기록이 아무리 많아도 스크롤한 만큼만 받음
+public class TimeRecordTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = { "이름", "출근", "퇴근", "근무 시간" };
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String LOADING = "...";
+
+    private final TimeRecordRepository repository;
+    private final Consumer<String> status; // 상태 표시 (건수, 실패 메시지)
+    private TimeRecordQuery query;
+    private int generation; // 조건을 바꾸면 증가, 이전 조건의 응답은 버림
+    private Employee[] rows = new Employee[0];
+    private final Set<Integer> requested = new HashSet<>(); // 요청했거나 받은 페이지
+
+    public TimeRecordTableModel(TimeRecordRepository repository, Consumer<String> status) {
+        this.repository = repository;
+        this.status = status;
+    }
+
+    // 조건을 바꾸고 첫 페이지부터 다시 받음
+    public void setQuery(TimeRecordQuery query) {
+        this.query = query;
+        generation++;
+        rows = new Employee[0];
+        requested.clear();
+        fireTableDataChanged();
+        status.accept("불러오는 중...");
+        requestPage(0);
+    }
+
+    private void requestPage(int page) {
+        if (!requested.add(page)) {
+            return;
+        }
+        int requestGeneration = generation;
+        repository.fetchPage(query, page).whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            if (error != null) {
+                requested.remove(page); // 다시 그려질 때 재시도
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                status.accept("기록을 불러오지 못했습니다: " + cause.getMessage());
+                return;
+            }
+            apply(result);
+        }));
+    }
+
+    private void apply(TimeRecordRepository.Page page) {
+        if (page.getTotal() != rows.length) {
+            rows = Arrays.copyOf(rows, page.getTotal()); // 조회 중에 기록이 늘거나 줄어든 경우 포함
+            fireTableDataChanged();
+        }
+        int end = Math.min(page.getOffset() + page.getRecords().size(), rows.length);
+        for (int row = page.getOffset(); row < end; row++) {
+            rows[row] = page.getRecords().get(row - page.getOffset());
+        }
+        if (end > page.getOffset()) {
+            fireTableRowsUpdated(page.getOffset(), end - 1);
+        }
+        status.accept(query + ": 총 " + rows.length + "건");
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Employee record = rows[row];
+        if (record == null) {
+            requestPage(row / TimeRecordRepository.PAGE_SIZE);
+            return LOADING;
+        }
+        switch (column) {
+            case 0:
+                return record.getName();
+            case 1:
+                return record.getCheckInTime().format(FORMATTER);
+            case 2:
+                return record.isClosed() ? record.getCheckOutTime().format(FORMATTER) : "근무 중";
+            default:
+                if (!record.isClosed()) {
+                    return "";
+                }
+                Duration worked = Duration.between(record.getCheckInTime(), record.getCheckOutTime());
+                return worked.toHours() + "시간 " + worked.toMinutes() % 60 + "분";
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package models;
+
+// 고객 요청 한 건 (물, 수저 등), 변경 불가
+public class CustomerRequest {
+    private final String id; // 요청 항목 _id
+    private final int tableNumber;
+    private final String name;
+    private final long createdAt; // 서버 createdAt, 없으면 처음 받은 시각 (epoch ms)
+
+    public CustomerRequest(String id, int tableNumber, String name, long createdAt) {
+        this.id = id;
+        this.tableNumber = tableNumber;
+        this.name = name;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getTableNumber() {
+        return tableNumber;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -2,17 +2,28 @@ package models;
 
 import java.time.LocalDateTime;
 
+// 직원 출퇴근 기록 한 건 (퇴근 시각이 없으면 근무 중)
 public class Employee {
+    private final String id; // 서버 기록 id (아직 서버에 없는 기록이면 null)
     private final String name;
     private final LocalDateTime checkInTime;
     private LocalDateTime checkOutTime;
 
     public Employee(String name, LocalDateTime checkInTime, LocalDateTime checkOutTime) {
+        this(null, name, checkInTime, checkOutTime);
+    }
+
+    public Employee(String id, String name, LocalDateTime checkInTime, LocalDateTime checkOutTime) {
+        this.id = id;
         this.name = name;
         this.checkInTime = checkInTime;
         this.checkOutTime = checkOutTime;
     }
 
+    public String getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
@@ -28,4 +39,9 @@ public class Employee {
     public void setCheckOutTime(LocalDateTime checkOutTime) {
         this.checkOutTime = checkOutTime;
     }
+
+    // 퇴근까지 기록된 근무는 더 바뀌지 않음
+    public boolean isClosed() {
+        return checkOutTime != null;
+    }
 }
@@ -0,0 +1,44 @@
+package models;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 변경 불가능한 메뉴 목록 (갱신 시 새 객체로 교체)
+public class Menu {
+    private final List<MenuItem> items;
+    private final Map<String, MenuItem> itemsByName = new LinkedHashMap<>();
+    private final String etag;
+    private final long fetchedAt;
+
+    public Menu(List<MenuItem> items, String etag, long fetchedAt) {
+        this.items = Collections.unmodifiableList(items);
+        this.etag = etag;
+        this.fetchedAt = fetchedAt;
+        for (MenuItem item : items) {
+            itemsByName.put(item.getName(), item);
+        }
+    }
+
+    // 내용은 같고 확인 시각만 바뀐 메뉴 (304 응답)
+    public Menu revalidated(long fetchedAt) {
+        return new Menu(items, etag, fetchedAt);
+    }
+
+    public List<MenuItem> getItems() {
+        return items;
+    }
+
+    public MenuItem findByName(String name) {
+        return itemsByName.get(name);
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+}
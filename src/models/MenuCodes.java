@@ -0,0 +1,55 @@
+package models;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 메뉴 id(24자리 문자열)와 이름을 작은 int 코드로 바꿔 주문 줄마다 문자열을 들고 있지 않게 함
+// 같은 id를 여러 이름으로 쓰는 주문이 있으므로 (id, 이름) 쌍마다 코드를 따로 줌, 한 번 받은 코드는 바뀌지 않음
+public class MenuCodes {
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] keys = new String[64];
+    private volatile String[] menuIds = new String[64];
+    private volatile String[] names = new String[64];
+    private int size;
+
+    public int intern(String menuId, String name) {
+        String key = key(menuId, name);
+        Integer code = codes.get(key);
+        return code != null ? code : add(key, menuId, name);
+    }
+
+    private synchronized int add(String key, String menuId, String name) {
+        Integer existing = codes.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == keys.length) {
+            menuIds = Arrays.copyOf(menuIds, size * 2);
+            names = Arrays.copyOf(names, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size] = key;
+        menuIds[size] = menuId;
+        names[size] = name;
+        codes.put(key, size); // 배열에 쓴 뒤에 코드를 공개
+        return size++;
+    }
+
+    // 메뉴 id와 이름을 \u0000으로 이은 키 (id가 없으면 빈 문자열), 코드 없이 집계할 때도 같은 키 사용
+    public static String key(String menuId, String name) {
+        return (menuId != null ? menuId : "") + "\u0000" + name;
+    }
+
+    // 집계용 키 (코드와 1:1, id가 같아도 이름이 다르면 다른 키)
+    public String getKey(int code) {
+        return keys[code];
+    }
+
+    public String getMenuId(int code) {
+        return menuIds[code];
+    }
+
+    public String getName(int code) {
+        return names[code];
+    }
+}
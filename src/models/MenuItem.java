@@ -0,0 +1,31 @@
+package models;
+
+public class MenuItem {
+    private final String id;
+    private final String name;
+    private final int price;
+    private final String category;
+
+    public MenuItem(String id, String name, int price, String category) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.category = category;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPrice() {
+        return price;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+}
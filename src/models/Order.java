@@ -36,8 +36,4 @@ public class Order {
     public int getPrice() {
         return price;
     }
-
-    public void setQuantity(int quantity) {
-        this.quantity = quantity;
-    }
 }
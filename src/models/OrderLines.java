@@ -0,0 +1,116 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 한 테이블의 주문 줄을 기본형 배열로 저장 (메뉴 코드, 수량, 단가)
+// Order 객체는 화면 표시나 JSON 변환 때만 만듦
+public class OrderLines {
+    private int[] codes;
+    private int[] quantities;
+    private int[] prices;
+    private int size;
+    private int total;
+
+    public OrderLines() {
+        this(4);
+    }
+
+    public OrderLines(int capacity) {
+        codes = new int[capacity];
+        quantities = new int[capacity];
+        prices = new int[capacity];
+    }
+
+    public OrderLines(OrderLines other) {
+        codes = Arrays.copyOf(other.codes, Math.max(other.size, 4));
+        quantities = Arrays.copyOf(other.quantities, codes.length);
+        prices = Arrays.copyOf(other.prices, codes.length);
+        size = other.size;
+        total = other.total;
+    }
+
+    public void add(int code, int quantity, int price) {
+        if (size == codes.length) {
+            int capacity = Math.max(4, size * 2);
+            codes = Arrays.copyOf(codes, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+        codes[size] = code;
+        quantities[size] = quantity;
+        prices[size] = price;
+        size++;
+        total += quantity * price;
+    }
+
+    // 수량을 바꾸고 실제 변화량을 반환 (0 이하가 되면 줄 삭제)
+    public int changeQuantity(int index, int adjustment) {
+        int newQuantity = Math.max(quantities[index] + adjustment, 0);
+        int delta = newQuantity - quantities[index];
+        total += delta * prices[index];
+        if (newQuantity == 0) {
+            remove(index);
+        } else {
+            quantities[index] = newQuantity;
+        }
+        return delta;
+    }
+
+    private void remove(int index) {
+        int moved = size - index - 1;
+        System.arraycopy(codes, index + 1, codes, index, moved);
+        System.arraycopy(quantities, index + 1, quantities, index, moved);
+        System.arraycopy(prices, index + 1, prices, index, moved);
+        size--;
+    }
+
+    // 이름이 같은 첫 줄 (없으면 -1)
+    public int indexOfName(String itemName, MenuCodes menuCodes) {
+        for (int i = 0; i < size; i++) {
+            if (menuCodes.getName(codes[i]).equals(itemName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCode(int index) {
+        return codes[index];
+    }
+
+    public int getQuantity(int index) {
+        return quantities[index];
+    }
+
+    public int getPrice(int index) {
+        return prices[index];
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Order toOrder(int tableNumber, int index, MenuCodes menuCodes) {
+        int code = codes[index];
+        return new Order(tableNumber, menuCodes.getMenuId(code), menuCodes.getName(code), quantities[index],
+                prices[index]);
+    }
+
+    public List<Order> toOrders(int tableNumber, MenuCodes menuCodes) {
+        List<Order> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add(toOrder(tableNumber, i, menuCodes));
+        }
+        return orders;
+    }
+}
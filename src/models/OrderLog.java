@@ -0,0 +1,12 @@
+package models;
+
+// OrderStore 변경 내역을 기록하는 대상 (주문 저널 등)
+public interface OrderLog {
+    void orderAdded(Order order);
+
+    void quantityChanged(int tableNumber, String itemName, int adjustment);
+
+    void tableCleared(int tableNumber);
+
+    void tableReplaced(TableSnapshot.TableState state);
+}
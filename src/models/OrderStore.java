@@ -0,0 +1,258 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+// 테이블 번호별 주문 저장소 (테이블별 합계/주문 개수를 변경 시마다 갱신)
+// 주문 줄은 메뉴 코드/수량/단가 배열로 저장하고, getOrders 등 화면/JSON 경계에서만 Order로 변환
+//
+// 여러 스레드에서 사용 가능:
+// - 변경은 테이블 번호로 나눈 잠금(stripe) 안에서 현재 줄을 복사해 고친 뒤 새 객체로 교체 (copy-on-write)
+// - 공개된 OrderLines는 다시 변경하지 않으므로 읽기는 잠금 없이 현재 객체를 그대로 읽음
+// - 같은 테이블의 변경 순서대로 저널 기록과 리스너 호출이 이루어짐 (잠금 안에서 호출)
+public class OrderStore {
+    private static final int LOCK_STRIPES = 16;
+
+    private final MenuCodes menuCodes;
+    private final ConcurrentHashMap<Integer, OrderLines> tables = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final AtomicInteger grandTotal = new AtomicInteger();
+    private volatile OrderLog log; // 변경 내역 기록 (없으면 기록하지 않음)
+    private final List<SalesListener> listeners = new CopyOnWriteArrayList<>();
+
+    public OrderStore(MenuCodes menuCodes) {
+        this.menuCodes = menuCodes;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private Object lockFor(int tableNumber) {
+        return locks[Math.floorMod(tableNumber, LOCK_STRIPES)];
+    }
+
+    // 현재 줄의 복사본 (변경 후 publish로 교체)
+    private OrderLines copyOf(int tableNumber) {
+        OrderLines current = tables.get(tableNumber);
+        return current == null ? new OrderLines() : new OrderLines(current);
+    }
+
+    private void publish(int tableNumber, OrderLines lines) {
+        if (lines.isEmpty()) {
+            tables.remove(tableNumber);
+        } else {
+            tables.put(tableNumber, lines);
+        }
+    }
+
+    public MenuCodes getMenuCodes() {
+        return menuCodes;
+    }
+
+    public void setLog(OrderLog log) {
+        this.log = log;
+    }
+
+    public void addSalesListener(SalesListener listener) {
+        listeners.add(listener);
+    }
+
+    private void fireLineChanged(int code, int price, int delta, SalesListener.Source source) {
+        if (delta == 0) {
+            return;
+        }
+        for (SalesListener listener : listeners) {
+            listener.lineChanged(code, price, delta, source);
+        }
+    }
+
+    public void addOrder(Order order) {
+        int tableNumber = order.getTableNumber();
+        int code = menuCodes.intern(order.getMenuId(), order.getItemName());
+        synchronized (lockFor(tableNumber)) {
+            OrderLog currentLog = log;
+            if (currentLog != null) {
+                currentLog.orderAdded(order);
+            }
+            OrderLines lines = copyOf(tableNumber);
+            lines.add(code, order.getQuantity(), order.getPrice());
+            publish(tableNumber, lines);
+            grandTotal.addAndGet(order.getPrice() * order.getQuantity());
+            fireLineChanged(code, order.getPrice(), order.getQuantity(), SalesListener.Source.LOCAL);
+        }
+    }
+
+    // 이름이 같은 첫 줄의 수량 변경 (0 이하가 되면 주문 삭제), 해당 주문이 없으면 false
+    public boolean changeQuantity(int tableNumber, String itemName, int adjustment) {
+        synchronized (lockFor(tableNumber)) {
+            OrderLines current = tables.get(tableNumber);
+            int index = current == null ? -1 : current.indexOfName(itemName, menuCodes);
+            if (index < 0) {
+                return false;
+            }
+            OrderLog currentLog = log;
+            if (currentLog != null) {
+                currentLog.quantityChanged(tableNumber, itemName, adjustment);
+            }
+
+            OrderLines lines = new OrderLines(current);
+            int code = lines.getCode(index);
+            int price = lines.getPrice(index);
+            int delta = lines.changeQuantity(index, adjustment);
+            publish(tableNumber, lines);
+            grandTotal.addAndGet(delta * price);
+            fireLineChanged(code, price, delta, SalesListener.Source.LOCAL);
+            return true;
+        }
+    }
+
+    // 주문 전체 취소
+    public void clearTable(int tableNumber) {
+        clear(tableNumber, SalesListener.Source.LOCAL);
+    }
+
+    // 영수증 발행 후 비움 (취소가 아니므로 주문 통계에서 빼지 않음)
+    public void settleTable(int tableNumber) {
+        clear(tableNumber, SalesListener.Source.SETTLED);
+    }
+
+    private void clear(int tableNumber, SalesListener.Source source) {
+        synchronized (lockFor(tableNumber)) {
+            OrderLines lines = tables.remove(tableNumber);
+            if (lines == null) {
+                return;
+            }
+            OrderLog currentLog = log;
+            if (currentLog != null) {
+                currentLog.tableCleared(tableNumber);
+            }
+            grandTotal.addAndGet(-lines.getTotal());
+            for (int i = 0; i < lines.size(); i++) {
+                fireLineChanged(lines.getCode(i), lines.getPrice(i), -lines.getQuantity(i), source);
+            }
+        }
+    }
+
+    // 백그라운드에서 디코딩된 전체 목록으로 교체 (시작 시 첫 동기화, 합계는 미리 계산된 값 사용)
+    // keepLocal이 true인 테이블은 서버에 아직 반영되지 않은 주문이 있으므로 현재 상태 유지
+    public void replaceAll(TableSnapshot snapshot, IntPredicate keepLocal) {
+        for (int tableNumber : new ArrayList<>(tables.keySet())) {
+            if (!snapshot.getTables().containsKey(tableNumber) && !keepLocal.test(tableNumber)) {
+                clear(tableNumber, SalesListener.Source.RESTORE);
+            }
+        }
+        for (TableSnapshot.TableState state : snapshot.getTables().values()) {
+            if (!keepLocal.test(state.getTableNumber())) {
+                replace(state, SalesListener.Source.RESTORE);
+            }
+        }
+    }
+
+    // 한 테이블의 주문만 교체 (실시간 변경 이벤트 적용)
+    // 주문이 모두 빠진 경우는 다른 단말에서 결제한 것으로 보고 SETTLED로 알림
+    public void replaceTable(TableSnapshot.TableState state) {
+        replace(state, state.getLines().size() == 0 ? SalesListener.Source.SETTLED : SalesListener.Source.SYNC);
+    }
+
+    // 저널로 복구한 테이블 (새 주문이 아니므로 RESTORE로 알림)
+    public void restoreTable(TableSnapshot.TableState state) {
+        replace(state, SalesListener.Source.RESTORE);
+    }
+
+    private void replace(TableSnapshot.TableState state, SalesListener.Source source) {
+        int tableNumber = state.getTableNumber();
+        synchronized (lockFor(tableNumber)) {
+            OrderLog currentLog = log;
+            if (currentLog != null) {
+                currentLog.tableReplaced(state);
+            }
+            OrderLines previous = tables.get(tableNumber);
+            publish(tableNumber, new OrderLines(state.getLines())); // 스냅샷 객체와 공유하지 않도록 복사
+            grandTotal.addAndGet(state.getTotal() - (previous == null ? 0 : previous.getTotal()));
+            fireReplaced(previous, state.getLines(), source);
+        }
+    }
+
+    // 교체 전후 같은 메뉴/가격의 수량 차이만 알림 (변경 없는 줄은 알리지 않음)
+    private void fireReplaced(OrderLines oldLines, OrderLines newLines, SalesListener.Source source) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> quantities = new HashMap<>();
+        if (oldLines != null) {
+            for (int i = 0; i < oldLines.size(); i++) {
+                quantities.merge(lineKey(oldLines.getCode(i), oldLines.getPrice(i)), -oldLines.getQuantity(i),
+                        Integer::sum);
+            }
+        }
+        for (int i = 0; i < newLines.size(); i++) {
+            quantities.merge(lineKey(newLines.getCode(i), newLines.getPrice(i)), newLines.getQuantity(i),
+                    Integer::sum);
+        }
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            long key = entry.getKey();
+            fireLineChanged((int) (key >>> 32), (int) key, entry.getValue(), source);
+        }
+    }
+
+    private static long lineKey(int code, int price) {
+        return ((long) code << 32) | (price & 0xFFFFFFFFL);
+    }
+
+    public List<Order> getOrders(int tableNumber) {
+        OrderLines lines = tables.get(tableNumber);
+        return lines == null ? Collections.emptyList() : lines.toOrders(tableNumber, menuCodes);
+    }
+
+    // 저널 압축 등에서 쓰는 테이블 주문 복사본
+    public OrderLines copyLines(int tableNumber) {
+        return copyOf(tableNumber);
+    }
+
+    public String getFirstItemName(int tableNumber) {
+        OrderLines lines = tables.get(tableNumber);
+        return lines == null ? null : menuCodes.getName(lines.getCode(0));
+    }
+
+    public boolean hasOrders(int tableNumber) {
+        return tables.containsKey(tableNumber);
+    }
+
+    public int getTotal(int tableNumber) {
+        OrderLines lines = tables.get(tableNumber);
+        return lines == null ? 0 : lines.getTotal();
+    }
+
+    public int getLineCount(int tableNumber) {
+        OrderLines lines = tables.get(tableNumber);
+        return lines == null ? 0 : lines.size();
+    }
+
+    public List<Integer> getTableNumbers() {
+        return new ArrayList<>(tables.keySet());
+    }
+
+    public int getGrandTotal() {
+        return grandTotal.get();
+    }
+
+    public List<Order> getAllOrders() {
+        List<Order> all = new ArrayList<>();
+        for (Map.Entry<Integer, OrderLines> entry : tables.entrySet()) {
+            all.addAll(entry.getValue().toOrders(entry.getKey(), menuCodes));
+        }
+        return all;
+    }
+
+    @Override
+    public String toString() {
+        return getAllOrders().toString();
+    }
+}
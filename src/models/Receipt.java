@@ -0,0 +1,83 @@
+package models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 영수증 출력 시점의 테이블 주문 복사본 (이후 주문이 바뀌어도 영향 없음)
+public class Receipt {
+    private final int tableNumber;
+    private final List<Line> lines;
+    private final int total;
+    private final LocalDateTime createdAt;
+
+    public static class Line {
+        private final String menuId;
+        private final String itemName;
+        private final int quantity;
+        private final int price;
+
+        public Line(String menuId, String itemName, int quantity, int price) {
+            this.menuId = menuId;
+            this.itemName = itemName;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public String getMenuId() {
+            return menuId;
+        }
+
+        public String getItemName() {
+            return itemName;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public int getPrice() {
+            return price;
+        }
+
+        public int getAmount() {
+            return quantity * price;
+        }
+    }
+
+    public Receipt(int tableNumber, List<Line> lines, LocalDateTime createdAt) {
+        this.tableNumber = tableNumber;
+        this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+        this.createdAt = createdAt;
+        int sum = 0;
+        for (Line line : lines) {
+            sum += line.getAmount();
+        }
+        this.total = sum;
+    }
+
+    public static Receipt of(int tableNumber, List<Order> orders) {
+        List<Line> lines = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            lines.add(new Line(order.getMenuId(), order.getItemName(), order.getQuantity(), order.getPrice()));
+        }
+        return new Receipt(tableNumber, lines, LocalDateTime.now());
+    }
+
+    public int getTableNumber() {
+        return tableNumber;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,15 @@
+package models;
+
+// 주문 수량이 바뀔 때마다 줄 단위 변화량을 받는 대상 (매출 집계 등)
+// menuCode는 MenuCodes 코드, delta: 추가되면 +, 취소/삭제되면 -
+public interface SalesListener {
+    // 변화가 생긴 경로
+    enum Source {
+        LOCAL, // 이 단말에서 주문/수량 변경/전체 취소
+        SYNC, // 푸시/폴링으로 받은 변경 (다른 단말/고객 앱 주문 포함)
+        SETTLED, // 영수증 발행 후 또는 서버에서 테이블이 비워짐
+        RESTORE // 저널 복구, 시작 시 전체 목록 (이미 있던 주문)
+    }
+
+    void lineChanged(int menuCode, int price, int delta, Source source);
+}
@@ -0,0 +1,61 @@
+package models;
+
+import java.util.Collections;
+import java.util.List;
+
+// 특정 시점의 매출 집계 (변경되지 않음)
+public class SalesSnapshot {
+    public static final SalesSnapshot EMPTY = new SalesSnapshot(0, 0, Collections.emptyList());
+
+    private final long totalSales;
+    private final long totalQuantity;
+    private final List<MenuStat> topMenus; // 수량이 많은 순
+
+    public static class MenuStat {
+        private final String menuId;
+        private final String name;
+        private final long quantity;
+        private final long sales;
+
+        public MenuStat(String menuId, String name, long quantity, long sales) {
+            this.menuId = menuId;
+            this.name = name;
+            this.quantity = quantity;
+            this.sales = sales;
+        }
+
+        public String getMenuId() {
+            return menuId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public long getSales() {
+            return sales;
+        }
+    }
+
+    public SalesSnapshot(long totalSales, long totalQuantity, List<MenuStat> topMenus) {
+        this.totalSales = totalSales;
+        this.totalQuantity = totalQuantity;
+        this.topMenus = Collections.unmodifiableList(topMenus);
+    }
+
+    public long getTotalSales() {
+        return totalSales;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public List<MenuStat> getTopMenus() {
+        return topMenus;
+    }
+}
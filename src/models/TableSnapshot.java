@@ -0,0 +1,61 @@
+package models;
+
+import java.util.Collections;
+import java.util.Map;
+
+// api/table 응답을 디코딩한 변경 불가능한 테이블별 상태
+public class TableSnapshot {
+    private final Map<Integer, TableState> tables;
+    private final boolean partial; // true면 변경된 테이블만 포함 (나머지는 그대로 유지)
+    private final long sentAt; // 푸시 서버가 보낸 시각 (지연 시간 측정용, 없으면 0)
+
+    public static class TableState {
+        private final int tableNumber;
+        private final OrderLines lines; // 만든 뒤에는 변경하지 않음
+        private final String updatedAt;
+
+        public TableState(int tableNumber, OrderLines lines, String updatedAt) {
+            this.tableNumber = tableNumber;
+            this.lines = lines;
+            this.updatedAt = updatedAt;
+        }
+
+        public int getTableNumber() {
+            return tableNumber;
+        }
+
+        public OrderLines getLines() {
+            return lines;
+        }
+
+        public int getTotal() {
+            return lines.getTotal();
+        }
+
+        public String getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+
+    public TableSnapshot(Map<Integer, TableState> tables) {
+        this(tables, false, 0);
+    }
+
+    public TableSnapshot(Map<Integer, TableState> tables, boolean partial, long sentAt) {
+        this.tables = Collections.unmodifiableMap(tables);
+        this.partial = partial;
+        this.sentAt = sentAt;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    public Map<Integer, TableState> getTables() {
+        return tables;
+    }
+}
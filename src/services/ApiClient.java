@@ -0,0 +1,282 @@
+package services;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.*;
+
+// 모든 백엔드 호출이 공유하는 HTTP 클라이언트 (커넥션 풀/디스패처 하나만 사용)
+public class ApiClient {
+    private static final ApiClient INSTANCE = new ApiClient();
+    // -Dpos.api.url=http://localhost:8090/ 로 로컬 테스트 서버(LocalPushServer) 사용 가능
+    private static final String BASE_URL = System.getProperty("pos.api.url", "https://be-api-seven.vercel.app/");
+    private static final MediaType JSON = MediaType.get("application/json");
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String TABLE_SEQUENCE_HEADER = "X-Table-Sequence";
+    private static final int MAX_IDEMPOTENT_RETRIES = 2;
+
+    // blocking 호출의 응답 처리 (호출한 스레드에서 실행)
+    public interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    // 2xx/304가 아닌 응답
+    public static class HttpStatusException extends IOException {
+        private final int code;
+
+        public HttpStatusException(int code, String message) {
+            super(code + " " + message);
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+
+    private final OkHttpClient httpClient;
+    private final Gson gson = new Gson();
+
+    private ApiClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(16);
+        dispatcher.setMaxRequestsPerHost(8); // 백엔드가 하나뿐이므로 호스트당 제한이 실질적인 동시성 한도
+
+        httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES)) // keep-alive 연결 재사용
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(15, TimeUnit.SECONDS)
+                .writeTimeout(15, TimeUnit.SECONDS)
+                .callTimeout(30, TimeUnit.SECONDS)
+                .addInterceptor(new IdempotentRetryInterceptor())
+                .addInterceptor(new TimingInterceptor())
+                .build();
+    }
+
+    public static ApiClient getInstance() {
+        return INSTANCE;
+    }
+
+    // updatedSince 이후 변경된 테이블만 요청 (서버가 지원하지 않으면 전체 목록이 옴)
+    public Call getTables(String updatedSince, Callback callback) {
+        return enqueue(tablesRequest(updatedSince), callback);
+    }
+
+    // etag가 있으면 조건부 요청 (변경 없으면 304)
+    public Call getMenu(String etag, Callback callback) {
+        return enqueue(menuRequest(etag), callback);
+    }
+
+    // blocking 호출 (TaskScope 작업 등 백그라운드 스레드에서 호출, EDT에서 호출하지 말 것)
+    public <T> T fetchTables(String updatedSince, ResponseHandler<T> handler) throws IOException {
+        return execute(tablesRequest(updatedSince), handler);
+    }
+
+    // etag가 있으면 조건부 요청 (변경 없으면 304, handler가 받은 응답의 code()로 확인)
+    public <T> T fetchRequests(String etag, ResponseHandler<T> handler) throws IOException {
+        return execute(requestsRequest(etag), handler);
+    }
+
+    // 조건에 맞는 기록 중 page번째 페이지 (서버가 페이지를 지원하지 않으면 전체 목록이 옴)
+    public <T> T fetchTimeRecords(TimeRecordQuery query, int page, int size, ResponseHandler<T> handler)
+            throws IOException {
+        return execute(timeRecordsRequest(query, page, size), handler);
+    }
+
+    // 고객 요청 처리 완료 알림 (같은 키로 재시도해도 한 번만 처리됨)
+    public void completeRequest(String requestId, int tableNumber, String idempotencyKey) throws IOException {
+        JsonObject body = new JsonObject();
+        body.addProperty("requestId", requestId);
+        body.addProperty("tableNum", tableNumber);
+        execute(new Request.Builder()
+                .url(BASE_URL + "api/request/complete")
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .post(jsonBody(body))
+                .build(), response -> null);
+    }
+
+    public void sendTimeRecord(String action, Object employee, String idempotencyKey) throws IOException {
+        execute(timeRecordRequest(action, employee, idempotencyKey), response -> null);
+    }
+
+    // 출퇴근 여러 건을 기록 순서대로 한 번에 전송 (서버가 지원하지 않으면 404/405)
+    public void sendTimeRecords(JsonArray punches, String idempotencyKey) throws IOException {
+        JsonObject body = new JsonObject();
+        body.add("punches", punches);
+        execute(new Request.Builder()
+                .url(BASE_URL + "api/time-records/batch")
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .post(jsonBody(body))
+                .build(), response -> null);
+    }
+
+    // 응답을 handler로 처리한 뒤 닫음, 2xx/304가 아니면 HttpStatusException
+    // TaskScope 작업 안에서 호출하면 범위가 취소될 때 진행 중인 호출도 끊김
+    public <T> T execute(Request request, ResponseHandler<T> handler) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("취소됨");
+        }
+        Call call = httpClient.newCall(request);
+        TaskScope scope = TaskScope.current();
+        if (scope != null) {
+            scope.track(call);
+        }
+        try (Response response = call.execute()) {
+            if (!response.isSuccessful() && response.code() != 304) {
+                throw new HttpStatusException(response.code(), response.message());
+            }
+            return handler.handle(response);
+        } finally {
+            if (scope != null) {
+                scope.untrack(call);
+            }
+        }
+    }
+
+    private Request tablesRequest(String updatedSince) {
+        HttpUrl.Builder url = HttpUrl.get(BASE_URL + "api/table").newBuilder();
+        if (updatedSince != null) {
+            url.addQueryParameter("updatedSince", updatedSince);
+        }
+        return new Request.Builder().url(url.build()).get().build();
+    }
+
+    private Request menuRequest(String etag) {
+        Request.Builder builder = new Request.Builder().url(BASE_URL + "api/menu").get();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        return builder.build();
+    }
+
+    private Request requestsRequest(String etag) {
+        Request.Builder builder = new Request.Builder().url(BASE_URL + "api/request").get();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        return builder.build();
+    }
+
+    private Request timeRecordsRequest(TimeRecordQuery query, int page, int size) {
+        HttpUrl.Builder url = HttpUrl.get(BASE_URL + "api/time-records").newBuilder()
+                .addQueryParameter("from", query.getFrom().toString())
+                .addQueryParameter("to", query.getTo().toString())
+                .addQueryParameter("page", String.valueOf(page))
+                .addQueryParameter("size", String.valueOf(size));
+        if (query.getEmployee() != null) {
+            url.addQueryParameter("name", query.getEmployee());
+        }
+        return new Request.Builder().url(url.build()).get().build();
+    }
+
+    private Request timeRecordRequest(String action, Object employee, String idempotencyKey) {
+        return new Request.Builder()
+                .url(BASE_URL + "api/time-records/" + action)
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .post(jsonBody(employee))
+                .build();
+    }
+
+    // 백그라운드 전송용 동기 호출 (EDT에서 호출하지 말 것)
+    public Response executeNewOrder(int tableNumber, String jsonData, String idempotencyKey, long sequence)
+            throws IOException {
+        return httpClient.newCall(new Request.Builder()
+                .url(BASE_URL + "api/table/new_order?tableNum=" + tableNumber)
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .header(TABLE_SEQUENCE_HEADER, String.valueOf(sequence))
+                .post(RequestBody.create(jsonData, JSON))
+                .build()).execute();
+    }
+
+    // 테이블 변경 이벤트 스트림 (WebSocket)
+    public WebSocket openTableStream(WebSocketListener listener) {
+        String wsUrl = BASE_URL.replaceFirst("^http", "ws") + "api/table/stream";
+        OkHttpClient streamClient = httpClient.newBuilder() // 같은 커넥션 풀/디스패처 공유
+                .readTimeout(0, TimeUnit.MILLISECONDS)
+                .callTimeout(0, TimeUnit.MILLISECONDS)
+                .pingInterval(20, TimeUnit.SECONDS)
+                .build();
+        return streamClient.newWebSocket(new Request.Builder().url(wsUrl).build(), listener);
+    }
+
+    private RequestBody jsonBody(Object data) {
+        return RequestBody.create(gson.toJson(data), JSON);
+    }
+
+    private Call enqueue(Request request, Callback callback) {
+        Call call = httpClient.newCall(request);
+        call.enqueue(callback);
+        return call;
+    }
+
+    // Idempotency-Key가 있는 요청은 중복 처리 걱정이 없으므로 네트워크 오류/5xx 시 바로 재시도
+    private static class IdempotentRetryInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            if (request.header(IDEMPOTENCY_KEY_HEADER) == null) {
+                return chain.proceed(request);
+            }
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    Response response = chain.proceed(request);
+                    if (response.code() < 500 || attempt >= MAX_IDEMPOTENT_RETRIES) {
+                        return response;
+                    }
+                    response.close();
+                } catch (IOException e) {
+                    if (attempt >= MAX_IDEMPOTENT_RETRIES || chain.call().isCanceled()) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    // 응답 시간 기록: 실패(네트워크 오류, 2xx/304 외 응답)와 느린 호출만 바로 출력하고 나머지는 STATS_EVERY건마다 요약
+    private static class TimingInterceptor implements Interceptor {
+        private static final long SLOW_CALL_MILLIS = 2_000;
+        private static final int STATS_EVERY = 100;
+
+        private long callCount;
+        private long millisSum;
+        private long millisMax;
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            long start = System.nanoTime();
+            try {
+                Response response = chain.proceed(request);
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if ((!response.isSuccessful() && response.code() != 304) || millis >= SLOW_CALL_MILLIS) {
+                    System.out.printf("[API] %s %s -> %d (%d ms)%n", request.method(), request.url().encodedPath(),
+                            response.code(), millis);
+                }
+                record(millis);
+                return response;
+            } catch (IOException e) {
+                System.out.printf("[API] %s %s -> 실패: %s (%d ms)%n", request.method(), request.url().encodedPath(),
+                        e.getMessage(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                throw e;
+            }
+        }
+
+        private synchronized void record(long millis) {
+            callCount++;
+            millisSum += millis;
+            millisMax = Math.max(millisMax, millis);
+            if (callCount % STATS_EVERY == 0) {
+                System.out.printf("[API] 호출 %d건, 평균 %.1f ms, 최대 %d ms%n", STATS_EVERY,
+                        (double) millisSum / STATS_EVERY, millisMax);
+                millisSum = 0;
+                millisMax = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package services;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// 버전이 있는 바이너리 스냅샷 파일 (메뉴, 테이블 주문 상태, 출퇴근 기록 캐시)
+//
+// 파일 구조: [magic int][형식 버전 short][종류 byte][예약 byte][payload 길이 int][crc32 int][payload]
+// - payload 안의 정수는 big-endian, 문자열은 [UTF-8 바이트 수 int (null이면 -1)][바이트]
+// - 임시 파일에 쓰고 force한 뒤 원자적으로 교체하므로 쓰는 도중 종료되어도 이전 파일이 그대로 남음
+// - 읽을 때는 메모리 매핑 후 CRC를 확인하고 매핑된 버퍼에서 바로 읽음 (JSON 파싱 없음)
+// 형식을 바꾸면 VERSION을 올리고, 버전이 다른 파일은 읽지 않음 (호출한 쪽에서 새로 받아 다시 저장)
+public final class BinarySnapshot {
+    private static final int MAGIC = 0x504F5353; // "POSS"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    public static final byte MENU = 1;
+    public static final byte FLOOR = 2;
+    public static final byte TIME_RECORDS = 3;
+
+    private BinarySnapshot() {
+    }
+
+    // payload를 모아 두었다가 한 번에 파일로 씀
+    public static class Writer {
+        private ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        public Writer() {
+            buffer.position(HEADER_SIZE);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+
+        public Writer putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+            return this;
+        }
+
+        public Writer putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+            return this;
+        }
+
+        public Writer putString(String value) {
+            if (value == null) {
+                return putInt(-1);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+            return this;
+        }
+
+        // 임시 파일에 쓰고 디스크에 반영한 뒤 path로 교체
+        public void writeTo(Path path, byte kind) throws IOException {
+            int length = buffer.position() - HEADER_SIZE;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), HEADER_SIZE, length);
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.put(6, kind);
+            buffer.put(7, (byte) 0);
+            buffer.putInt(8, length);
+            buffer.putInt(12, (int) crc.getValue());
+
+            Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer content = ByteBuffer.wrap(buffer.array(), 0, buffer.position());
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                channel.force(true);
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    // 매핑된 payload를 순서대로 읽음
+    public static class Reader {
+        private final ByteBuffer buffer;
+
+        private Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int getInt() {
+            return buffer.getInt();
+        }
+
+        public long getLong() {
+            return buffer.getLong();
+        }
+
+        public String getString() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    // 파일이 없으면 null, 손상되었거나 종류/버전이 다르면 IOException
+    public static Reader open(Path path, byte kind) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // 닫은 뒤에도 매핑은 유효
+        }
+        if (mapped.limit() < HEADER_SIZE || mapped.getInt(0) != MAGIC) {
+            throw new IOException(path.getFileName() + ": 스냅샷 파일이 아님");
+        }
+        if (mapped.getShort(4) != VERSION || mapped.get(6) != kind) {
+            throw new IOException(path.getFileName() + ": 지원하지 않는 버전/종류 (" + mapped.getShort(4) + "/"
+                    + mapped.get(6) + ")");
+        }
+        int length = mapped.getInt(8);
+        if (length < 0 || HEADER_SIZE + length > mapped.limit()) {
+            throw new IOException(path.getFileName() + ": 잘린 스냅샷");
+        }
+        mapped.position(HEADER_SIZE);
+        mapped.limit(HEADER_SIZE + length);
+        ByteBuffer payload = mapped.slice();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != mapped.getInt(12)) {
+            throw new IOException(path.getFileName() + ": CRC 불일치");
+        }
+        return new Reader(payload);
+    }
+}
@@ -0,0 +1,236 @@
+package services;
+
+import models.Receipt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+// 80mm 감열 프린터로 ESC/POS 명령을 직접 출력 (PDF를 거치지 않음)
+// 재사용하는 버퍼에 인코딩해 FileChannel로 한 번에 씀
+// 프린터가 밀려 대기 중인 영수증이 여러 장이면 한 번의 write로 묶어서 출력
+//
+// -Dpos.printer.device=/dev/usb/lp0 처럼 장치 경로 지정, 없으면 로컬 파일(receipt_printer.bin)에 기록
+public class EscPosPrinter implements ReceiptOutput {
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int MAX_BATCH = 16;
+    private static final int COLUMNS = 48; // Font A 기준 80mm 용지 한 줄 글자 수
+    private static final Charset KOREAN = Charset.forName("EUC-KR"); // 한국어 모델의 KS C 5601 코드
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final byte ESC = 0x1B;
+    private static final byte GS = 0x1D;
+    private static final byte FS = 0x1C;
+    private static final byte LF = 0x0A;
+    // 위 상수들이 먼저 초기화되어야 함
+    private static final EscPosPrinter INSTANCE = new EscPosPrinter(
+            Paths.get(System.getProperty("pos.printer.device", "receipt_printer.bin")));
+
+    private final Path device;
+    private final BlockingQueue<PrintJob> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final CharsetEncoder encoder = KOREAN.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(16 * 1024); // 출력 스레드에서만 사용
+    private FileChannel channel;
+
+    private static class PrintJob {
+        private final Receipt receipt;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        private PrintJob(Receipt receipt) {
+            this.receipt = receipt;
+        }
+    }
+
+    EscPosPrinter(Path device) {
+        this.device = device;
+        Thread thread = new Thread(this::run, "receipt-printer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static EscPosPrinter getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public CompletableFuture<String> render(Receipt receipt) {
+        PrintJob job = new PrintJob(receipt);
+        if (!queue.offer(job)) {
+            throw new RejectedExecutionException("printer queue full");
+        }
+        return job.result;
+    }
+
+    private void run() {
+        List<PrintJob> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            print(batch);
+            batch.clear();
+        }
+    }
+
+    private void print(List<PrintJob> batch) {
+        try {
+            buffer.clear();
+            for (PrintJob job : batch) {
+                encode(job.receipt);
+            }
+            buffer.flip();
+            FileChannel out = channel();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            if (batch.size() > 1) {
+                System.out.println("[PRINTER] 영수증 " + batch.size() + "장 일괄 출력");
+            }
+            for (PrintJob job : batch) {
+                job.result.complete(device.toString());
+            }
+        } catch (IOException | RuntimeException e) {
+            closeChannel(); // 다음 출력 때 다시 열기
+            for (PrintJob job : batch) {
+                job.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(device, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    private void encode(Receipt receipt) {
+        command(ESC, '@');          // 초기화
+        command(FS, '&');           // 한글(2바이트) 모드
+        command(ESC, 'a', 1);       // 가운데 정렬
+        command(GS, '!', 0x11);     // 가로/세로 2배
+        text("영수증");
+        newLine();
+        command(GS, '!', 0);
+        text("Table: " + receipt.getTableNumber());
+        newLine();
+        text(receipt.getCreatedAt().format(TIME_FORMAT));
+        newLine();
+        command(ESC, 'a', 0);       // 왼쪽 정렬
+        separator();
+
+        for (Receipt.Line line : receipt.getLines()) {
+            // 메뉴명 x 수량            총 가격
+            row(line.getItemName() + " x " + line.getQuantity(), line.getAmount() + "원");
+        }
+
+        separator();
+        command(ESC, 'E', 1);       // 굵게
+        row("총 합계", receipt.getTotal() + "원");
+        command(ESC, 'E', 0);
+        command(GS, 'V', 66, 3);    // 여백 후 부분 절단
+    }
+
+    // 왼쪽 글자와 오른쪽 정렬된 금액, 자리가 모자라면 금액은 다음 줄에
+    private void row(String left, String right) {
+        int leftWidth = width(left);
+        int rightWidth = width(right);
+        text(left);
+        if (leftWidth + 1 + rightWidth > COLUMNS) {
+            newLine();
+            leftWidth = 0;
+        }
+        spaces(COLUMNS - leftWidth - rightWidth);
+        text(right);
+        newLine();
+    }
+
+    private void separator() {
+        ensureCapacity(COLUMNS + 1);
+        for (int i = 0; i < COLUMNS; i++) {
+            buffer.put((byte) '-');
+        }
+        buffer.put(LF);
+    }
+
+    // 한글 등 전각 문자는 두 칸
+    private static int width(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += text.charAt(i) >= 0x1100 ? 2 : 1;
+        }
+        return width;
+    }
+
+    private void text(String text) {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (encoder.encode(chars, buffer, true).isOverflow()) {
+            ensureCapacity(buffer.capacity());
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            ensureCapacity(buffer.capacity());
+        }
+    }
+
+    private void spaces(int count) {
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            buffer.put((byte) ' ');
+        }
+    }
+
+    private void newLine() {
+        ensureCapacity(1);
+        buffer.put(LF);
+    }
+
+    private void command(byte prefix, char code, int... args) {
+        ensureCapacity(2 + args.length);
+        buffer.put(prefix).put((byte) code);
+        for (int arg : args) {
+            buffer.put((byte) arg);
+        }
+    }
+
+    // 버퍼가 모자라면 두 배로 늘림 (이후 영수증에서도 계속 재사용)
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+}
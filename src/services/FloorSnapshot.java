@@ -0,0 +1,80 @@
+package services;
+
+import models.MenuCodes;
+import models.OrderLines;
+import models.OrderStore;
+import models.TableSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 테이블 주문 상태의 바이너리 스냅샷 (OrderJournal 압축 시 기록)
+// payload: [세대 long][메뉴 수 int]{menuId, 이름}...[테이블 수 int]{번호, 줄 수, {메뉴 번호, 수량, 단가}...}...
+// 줄의 메뉴는 스냅샷 안의 메뉴 목록 번호 (실행마다 달라지는 MenuCodes 코드는 저장하지 않음)
+final class FloorSnapshot {
+    private FloorSnapshot() {
+    }
+
+    static void write(Path path, long generation, OrderStore store) throws IOException {
+        Map<Integer, Integer> entries = new HashMap<>(); // MenuCodes 코드 -> 스냅샷 메뉴 번호
+        List<Integer> codes = new ArrayList<>();
+        List<Integer> tableNumbers = store.getTableNumbers();
+        List<OrderLines> tables = new ArrayList<>(tableNumbers.size());
+        for (int tableNumber : tableNumbers) {
+            OrderLines lines = store.copyLines(tableNumber);
+            tables.add(lines);
+            for (int i = 0; i < lines.size(); i++) {
+                if (entries.putIfAbsent(lines.getCode(i), codes.size()) == null) {
+                    codes.add(lines.getCode(i));
+                }
+            }
+        }
+
+        MenuCodes menuCodes = store.getMenuCodes();
+        BinarySnapshot.Writer writer = new BinarySnapshot.Writer().putLong(generation).putInt(codes.size());
+        for (int code : codes) {
+            writer.putString(menuCodes.getMenuId(code)).putString(menuCodes.getName(code));
+        }
+        writer.putInt(tables.size());
+        for (int t = 0; t < tables.size(); t++) {
+            OrderLines lines = tables.get(t);
+            writer.putInt(tableNumbers.get(t)).putInt(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                writer.putInt(entries.get(lines.getCode(i))).putInt(lines.getQuantity(i)).putInt(lines.getPrice(i));
+            }
+        }
+        writer.writeTo(path, BinarySnapshot.FLOOR);
+    }
+
+    // 스냅샷의 테이블을 target에 적용하고 테이블 수 반환 (파일이 없으면 0)
+    static int read(Path path, long expectedGeneration, OrderStore target) throws IOException {
+        BinarySnapshot.Reader reader = BinarySnapshot.open(path, BinarySnapshot.FLOOR);
+        if (reader == null) {
+            return 0;
+        }
+        long generation = reader.getLong();
+        if (generation != expectedGeneration) {
+            throw new IOException("세대 불일치 " + generation + " != " + expectedGeneration);
+        }
+        MenuCodes menuCodes = target.getMenuCodes();
+        int[] codes = new int[reader.getInt()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = menuCodes.intern(reader.getString(), reader.getString());
+        }
+        int tableCount = reader.getInt();
+        for (int t = 0; t < tableCount; t++) {
+            int tableNumber = reader.getInt();
+            int lineCount = reader.getInt();
+            OrderLines lines = new OrderLines(lineCount);
+            for (int i = 0; i < lineCount; i++) {
+                lines.add(codes[reader.getInt()], reader.getInt(), reader.getInt());
+            }
+            target.replaceTable(new TableSnapshot.TableState(tableNumber, lines, null));
+        }
+        return tableCount;
+    }
+}
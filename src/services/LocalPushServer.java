@@ -0,0 +1,418 @@
+package services;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 오프라인 테스트용 로컬 대체 서버
+// table.json 형태의 데이터를 읽어 테이블 하나씩 delta 이벤트로 WebSocket에 반복 전송하고,
+// GET /api/table 에는 전체 데이터를, updatedSince가 있으면 그 이후 바뀐 테이블만 응답 (폴링 대체 경로 확인용)
+// 스트림으로 보낸 변경도 updatedAt에 반영되어 폴링에서 보임, POST 주문은 받기만 함
+// 고객 요청은 전송 간격 x 5마다 임의로 생성, GET /api/request는 ETag 지원, POST /api/request/complete로 삭제
+// 출퇴근 기록은 최근 90일치를 만들어 두고 GET /api/time-records?from&to&name&page&size로 페이지 단위 응답
+// POST /api/time-records/batch, clock-in, clock-out은 출퇴근 id로 중복을 걸러 기록에 반영
+//
+// 실행: java services.LocalPushServer [port] [table.json] [전송 간격 ms]
+// POS 실행 시: -Dpos.api.url=http://localhost:8090/
+public class LocalPushServer {
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private final int port;
+    private final JsonObject source;
+    private final long intervalMillis;
+    private final Gson gson = new Gson();
+    private final List<JsonObject> requests = new ArrayList<>(); // 대기 중인 고객 요청 (this로 보호)
+    private long requestVersion;
+    private final List<JsonObject> timeRecords = new ArrayList<>(); // 출근 시각 순 (this로 보호)
+    private final Set<String> punchIds = new HashSet<>(); // 반영한 출퇴근 id
+
+    public LocalPushServer(int port, JsonObject source, long intervalMillis) {
+        this.port = port;
+        this.source = source;
+        this.intervalMillis = intervalMillis;
+        generateTimeRecords();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8090;
+        String file = args.length > 1 ? args[1] : "table.json";
+        long interval = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+
+        String json = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        new LocalPushServer(port, new Gson().fromJson(json, JsonObject.class), interval).run();
+    }
+
+    public void run() throws IOException {
+        Thread generator = new Thread(this::generateRequests, "request-generator");
+        generator.setDaemon(true);
+        generator.start();
+        try (ServerSocket serverSocket = new ServerSocket(port)) {
+            System.out.println("LocalPushServer listening on " + port);
+            while (true) {
+                Socket socket = serverSocket.accept();
+                Thread thread = new Thread(() -> handle(socket), "push-client");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket) {
+            InputStream in = socket.getInputStream();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.ISO_8859_1));
+            String requestLine = reader.readLine();
+            if (requestLine == null) {
+                return;
+            }
+            Map<String, String> headers = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+                }
+            }
+
+            OutputStream out = socket.getOutputStream();
+            if ("websocket".equalsIgnoreCase(headers.get("upgrade"))) {
+                streamDeltas(out, headers.get("sec-websocket-key"));
+            } else if (requestLine.startsWith("POST /api/table/new_order")) {
+                int length = Integer.parseInt(headers.getOrDefault("content-length", "0"));
+                for (int i = 0; i < length; i++) {
+                    reader.read(); // 본문은 사용하지 않음
+                }
+                writeHttp(out, "200 OK", "{\"success\":true}");
+            } else if (requestLine.startsWith("POST /api/request/complete")) {
+                JsonObject completion = readBody(reader, headers);
+                completeRequest(completion.get("requestId").getAsString());
+                writeHttp(out, "200 OK", "{\"success\":true}");
+            } else if (requestLine.startsWith("POST /api/time-records/batch")) {
+                JsonArray punches = readBody(reader, headers).getAsJsonArray("punches");
+                for (JsonElement punch : punches) {
+                    applyPunch(punch.getAsJsonObject());
+                }
+                System.out.println("[SERVER] 출퇴근 " + punches.size() + "건 일괄 수신");
+                writeHttp(out, "200 OK", "{\"success\":true}");
+            } else if (requestLine.startsWith("POST /api/time-records/clock-")) {
+                applyPunch(readBody(reader, headers));
+                writeHttp(out, "200 OK", "{\"success\":true}");
+            } else if (requestLine.startsWith("GET /api/time-records")) {
+                writeTimeRecords(out, queryParameters(requestLine));
+            } else if (requestLine.startsWith("GET /api/request")) {
+                writeRequests(out, headers.get("if-none-match"));
+            } else if (requestLine.startsWith("GET /api/table")) {
+                writeTables(out, queryParameters(requestLine).get("updatedSince"));
+            } else {
+                writeHttp(out, "404 Not Found", "{\"success\":false}");
+            }
+        } catch (IOException e) {
+            System.out.println("client disconnected: " + e.getMessage());
+        }
+    }
+
+    // 본문을 JSON으로 읽음 (reader는 ISO-8859-1이므로 읽은 값이 바이트 그대로)
+    private JsonObject readBody(BufferedReader reader, Map<String, String> headers) throws IOException {
+        int length = Integer.parseInt(headers.getOrDefault("content-length", "0"));
+        byte[] body = new byte[length];
+        for (int i = 0; i < length; i++) {
+            body[i] = (byte) reader.read();
+        }
+        return gson.fromJson(new String(body, StandardCharsets.UTF_8), JsonObject.class);
+    }
+
+    // 출근은 근무 id로 기록 추가, 퇴근은 같은 근무에 퇴근 시각 기록
+    private synchronized void applyPunch(JsonObject punch) {
+        if (!punchIds.add(punch.get("id").getAsString())) {
+            return; // 재전송
+        }
+        String shiftId = punch.get("shiftId").getAsString();
+        if ("clock-in".equals(punch.get("action").getAsString())) {
+            JsonObject record = new JsonObject();
+            record.addProperty("_id", shiftId);
+            record.addProperty("name", punch.get("name").getAsString());
+            record.addProperty("checkInTime", punch.get("checkInTime").getAsString());
+            timeRecords.add(record);
+            return;
+        }
+        for (JsonObject record : timeRecords) {
+            if (record.get("_id").getAsString().equals(shiftId)) {
+                record.addProperty("checkOutTime", punch.get("checkOutTime").getAsString());
+            }
+        }
+    }
+
+    // 하루 12명, 오늘 출근한 직원은 근무 중
+    private void generateTimeRecords() {
+        String[] names = { "김민준", "이서연", "박지호", "최수아", "정예준", "강하은", "조도윤", "윤지우", "장시우",
+                "임하린", "한주원", "오서윤" };
+        LocalDate today = LocalDate.now();
+        int id = 1;
+        for (LocalDate day = today.minusDays(89); !day.isAfter(today); day = day.plusDays(1)) {
+            for (int i = 0; i < names.length; i++) {
+                LocalDateTime checkIn = day.atTime(8 + i % 6, (i * 7) % 60);
+                JsonObject record = new JsonObject();
+                record.addProperty("_id", "tr-" + id++);
+                record.addProperty("name", names[i]);
+                record.addProperty("checkInTime", checkIn.toString());
+                if (day.isBefore(today)) {
+                    record.addProperty("checkOutTime", checkIn.plusHours(8).toString());
+                }
+                timeRecords.add(record);
+            }
+        }
+    }
+
+    private void writeTimeRecords(OutputStream out, Map<String, String> params) throws IOException {
+        LocalDate from = LocalDate.parse(params.get("from"));
+        LocalDate to = LocalDate.parse(params.get("to"));
+        String name = params.get("name");
+        int page = Integer.parseInt(params.getOrDefault("page", "0"));
+        int size = Integer.parseInt(params.getOrDefault("size", "100"));
+        List<JsonObject> matching = new ArrayList<>();
+        synchronized (this) {
+            for (JsonObject record : timeRecords) {
+                LocalDate day = LocalDateTime.parse(record.get("checkInTime").getAsString()).toLocalDate();
+                if (!day.isBefore(from) && !day.isAfter(to)
+                        && (name == null || name.equals(record.get("name").getAsString()))) {
+                    matching.add(record);
+                }
+            }
+        }
+        JsonArray data = new JsonArray();
+        for (int i = page * size; i < Math.min((page + 1) * size, matching.size()); i++) {
+            data.add(matching.get(i));
+        }
+        JsonObject response = new JsonObject();
+        response.add("data", data);
+        response.addProperty("total", matching.size());
+        writeHttp(out, "200 OK", gson.toJson(response));
+    }
+
+    // updatedSince 이후 바뀐 테이블만 (실제 서버처럼 type 표시 없이 같은 형태로 응답)
+    private void writeTables(OutputStream out, String updatedSince) throws IOException {
+        String body;
+        synchronized (source) {
+            if (updatedSince == null) {
+                body = gson.toJson(source);
+            } else {
+                Instant since = Instant.parse(updatedSince);
+                JsonArray changed = new JsonArray();
+                for (JsonElement element : source.getAsJsonArray("tables")) {
+                    JsonElement updatedAt = element.getAsJsonObject().get("updatedAt");
+                    if (updatedAt == null || Instant.parse(updatedAt.getAsString()).isAfter(since)) {
+                        changed.add(element);
+                    }
+                }
+                JsonObject response = new JsonObject();
+                response.addProperty("success", true);
+                response.add("tables", changed);
+                body = gson.toJson(response);
+            }
+        }
+        writeHttp(out, "200 OK", body);
+    }
+
+    private static Map<String, String> queryParameters(String requestLine) {
+        Map<String, String> params = new HashMap<>();
+        String target = requestLine.split(" ")[1];
+        int question = target.indexOf('?');
+        if (question < 0) {
+            return params;
+        }
+        for (String pair : target.substring(question + 1).split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private void generateRequests() {
+        String[] names = { "물 가지고 와주세요", "수저 주세요", "앞접시 주세요", "계산할게요", "냅킨 주세요" };
+        for (long id = 1; ; id++) {
+            try {
+                Thread.sleep(intervalMillis * 5);
+            } catch (InterruptedException e) {
+                return;
+            }
+            JsonObject request = new JsonObject();
+            request.addProperty("_id", "req-" + id);
+            request.addProperty("tableNum", 1 + (int) (Math.random() * 20));
+            request.addProperty("name", names[(int) (Math.random() * names.length)]);
+            request.addProperty("createdAt", Instant.now().toString());
+            synchronized (this) {
+                requests.add(request);
+                requestVersion++;
+            }
+        }
+    }
+
+    private synchronized void completeRequest(String requestId) {
+        if (requests.removeIf(request -> request.get("_id").getAsString().equals(requestId))) {
+            requestVersion++;
+        }
+    }
+
+    // 테이블별로 묶어서 응답 (실제 서버와 같은 형태)
+    private void writeRequests(OutputStream out, String ifNoneMatch) throws IOException {
+        JsonArray data = new JsonArray();
+        String etag;
+        synchronized (this) {
+            etag = "\"" + requestVersion + "\"";
+            if (etag.equals(ifNoneMatch)) {
+                out.write(("HTTP/1.1 304 Not Modified\r\nETag: " + etag + "\r\nConnection: close\r\n\r\n")
+                        .getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+                return;
+            }
+            Map<Integer, JsonArray> byTable = new HashMap<>();
+            for (JsonObject request : requests) {
+                JsonObject item = new JsonObject();
+                item.addProperty("_id", request.get("_id").getAsString());
+                item.addProperty("name", request.get("name").getAsString());
+                item.addProperty("createdAt", request.get("createdAt").getAsString());
+                byTable.computeIfAbsent(request.get("tableNum").getAsInt(), k -> new JsonArray()).add(item);
+            }
+            for (Map.Entry<Integer, JsonArray> entry : byTable.entrySet()) {
+                JsonObject group = new JsonObject();
+                group.addProperty("_id", "table-" + entry.getKey());
+                group.addProperty("tableNum", entry.getKey());
+                group.add("requests", entry.getValue());
+                data.add(group);
+            }
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("data", data);
+        byte[] bytes = gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+        out.write(("HTTP/1.1 200 OK\r\n"
+                + "Content-Type: application/json; charset=utf-8\r\n"
+                + "Content-Length: " + bytes.length + "\r\n"
+                + "ETag: " + etag + "\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.write(bytes);
+        out.flush();
+    }
+
+    private void streamDeltas(OutputStream out, String key) throws IOException {
+        String accept;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            accept = Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        out.write(("HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + accept + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+
+        List<JsonElement> tables = new ArrayList<>();
+        JsonObject copy;
+        synchronized (source) {
+            copy = gson.fromJson(gson.toJson(source), JsonObject.class); // 클라이언트별 복사본
+        }
+        JsonArray tableArray = copy.getAsJsonArray("tables");
+        if (tableArray != null) {
+            for (JsonElement table : tableArray) {
+                tables.add(table);
+            }
+        }
+        if (tables.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; ; i = (i + 1) % tables.size()) {
+            JsonObject table = tables.get(i).getAsJsonObject();
+            String updatedAt = Instant.now().toString();
+            table.addProperty("updatedAt", updatedAt);
+            touchTable(table.get("tableNum").getAsInt(), updatedAt);
+
+            JsonArray changed = new JsonArray();
+            changed.add(table);
+            JsonObject delta = new JsonObject();
+            delta.addProperty("type", "delta");
+            delta.addProperty("sentAt", System.currentTimeMillis());
+            delta.add("tables", changed);
+
+            writeTextFrame(out, gson.toJson(delta).getBytes(StandardCharsets.UTF_8));
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 보낸 변경을 GET /api/table 응답에도 반영
+    private void touchTable(int tableNumber, String updatedAt) {
+        synchronized (source) {
+            for (JsonElement element : source.getAsJsonArray("tables")) {
+                JsonObject table = element.getAsJsonObject();
+                if (table.get("tableNum").getAsInt() == tableNumber) {
+                    table.addProperty("updatedAt", updatedAt);
+                }
+            }
+        }
+    }
+
+    // 서버 → 클라이언트 프레임은 마스킹하지 않음
+    private static void writeTextFrame(OutputStream out, byte[] payload) throws IOException {
+        out.write(0x81); // FIN + text
+        if (payload.length < 126) {
+            out.write(payload.length);
+        } else if (payload.length < 65536) {
+            out.write(126);
+            out.write(payload.length >>> 8);
+            out.write(payload.length & 0xFF);
+        } else {
+            out.write(127);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (((long) payload.length >>> shift) & 0xFF));
+            }
+        }
+        out.write(payload);
+        out.flush();
+    }
+
+    private static void writeHttp(OutputStream out, String status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        out.write(("HTTP/1.1 " + status + "\r\n"
+                + "Content-Type: application/json; charset=utf-8\r\n"
+                + "Content-Length: " + bytes.length + "\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.write(bytes);
+        out.flush();
+    }
+}
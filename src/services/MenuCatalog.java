@@ -0,0 +1,216 @@
+package services;
+
+import models.Menu;
+import models.MenuCodes;
+import models.MenuItem;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.*;
+
+// 프로세스 전체에서 공유하는 메뉴 캐시
+// - 시작 시 디스크 스냅샷에서 로드
+// - TTL이 지나면 백그라운드에서 ETag(If-None-Match)로 재검증
+// - 동시에 들어온 요청은 하나의 조회로 합침
+public class MenuCatalog {
+    private static final MenuCatalog INSTANCE = new MenuCatalog();
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final Path SNAPSHOT_PATH = Paths.get("menu.snapshot");
+    private static final Path LEGACY_SNAPSHOT_PATH = Paths.get("menu_cache.json");
+
+    private final Gson gson = new Gson();
+    private final MenuCodes menuCodes = new MenuCodes(); // 메뉴 id -> 주문 저장용 int 코드
+    private volatile Menu current;
+    private CompletableFuture<Menu> inFlight;
+
+    private MenuCatalog() {
+    }
+
+    public static MenuCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    // 캐시된 메뉴가 있으면 바로 반환 (오래된 경우 백그라운드 재검증)
+    public synchronized CompletableFuture<Menu> getMenu() {
+        Menu menu = current;
+        if (menu == null) {
+            return refresh();
+        }
+        if (System.currentTimeMillis() - menu.getFetchedAt() > TTL_MILLIS) {
+            refresh();
+        }
+        return CompletableFuture.completedFuture(menu);
+    }
+
+    public MenuCodes getMenuCodes() {
+        return menuCodes;
+    }
+
+    public Menu getCurrent() {
+        return current;
+    }
+
+    // 진행 중인 조회가 있으면 그 결과를 공유
+    public synchronized CompletableFuture<Menu> refresh() {
+        if (inFlight == null) {
+            inFlight = new CompletableFuture<>();
+            fetch(inFlight);
+        }
+        return inFlight;
+    }
+
+    private void fetch(CompletableFuture<Menu> result) {
+        Menu cached = current;
+        ApiClient.getInstance().getMenu(cached == null ? null : cached.getEtag(), new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                System.err.println("메뉴 조회 실패: " + e.getMessage());
+                complete(result, null, e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                try (response) {
+                    long now = System.currentTimeMillis();
+                    if (response.code() == 304 && cached != null) {
+                        Menu menu = cached.revalidated(now);
+                        complete(result, menu, null);
+                        saveSnapshot(menu); // 다음 실행 때 바로 다시 재검증하지 않도록 갱신 시각 저장
+                    } else if (response.isSuccessful()) {
+                        JsonObject jsonObject = gson.fromJson(response.body().string(), JsonObject.class);
+                        Menu menu = new Menu(parseItems(jsonObject.getAsJsonArray("menuItems")),
+                                response.header("ETag"), now);
+                        complete(result, menu, null);
+                        saveSnapshot(menu);
+                    } else {
+                        complete(result, null, new IOException("메뉴 조회 실패: " + response.code()));
+                    }
+                } catch (RuntimeException e) {
+                    complete(result, null, e);
+                }
+            }
+        });
+    }
+
+    // 메뉴 항목에 미리 코드를 부여 (주문에만 나오는 메뉴는 처음 볼 때 부여됨)
+    private void internCodes(Menu menu) {
+        for (MenuItem item : menu.getItems()) {
+            menuCodes.intern(item.getId(), item.getName());
+        }
+    }
+
+    private void complete(CompletableFuture<Menu> result, Menu menu, Throwable error) {
+        synchronized (this) {
+            if (menu != null) {
+                current = menu;
+                internCodes(menu);
+            }
+            inFlight = null;
+        }
+        if (menu != null) {
+            result.complete(menu);
+        } else if (current != null) {
+            result.complete(current); // 네트워크 실패 시 기존 메뉴 유지
+        } else {
+            result.completeExceptionally(error);
+        }
+    }
+
+    private List<MenuItem> parseItems(JsonArray menuArray) {
+        List<MenuItem> items = new ArrayList<>();
+        if (menuArray == null) {
+            return items;
+        }
+        for (JsonElement element : menuArray) {
+            JsonObject menuItem = element.getAsJsonObject();
+            items.add(new MenuItem(
+                    menuItem.get("_id").getAsString(),
+                    menuItem.get("name").getAsString(),
+                    menuItem.get("price").getAsInt(),
+                    menuItem.has("category") && !menuItem.get("category").isJsonNull()
+                            ? menuItem.get("category").getAsString()
+                            : null));
+        }
+        return items;
+    }
+
+    // 시작 시 디스크 스냅샷 로드 (없거나 손상되었으면 무시)
+    // 바이너리 스냅샷이 없으면 이전 형식(JSON)을 한 번 읽음
+    public void loadSnapshot() {
+        long start = System.nanoTime();
+        Menu menu;
+        try {
+            BinarySnapshot.Reader reader = BinarySnapshot.open(SNAPSHOT_PATH, BinarySnapshot.MENU);
+            menu = reader != null ? readMenu(reader) : loadLegacySnapshot();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("메뉴 스냅샷 로드 실패: " + e.getMessage());
+            return;
+        }
+        if (menu == null) {
+            return;
+        }
+        synchronized (this) {
+            if (current == null) {
+                current = menu;
+                internCodes(menu);
+            }
+        }
+        System.out.printf("[SNAPSHOT] 메뉴 %d개 로드 (%d us)%n", menu.getItems().size(),
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+
+    private static Menu readMenu(BinarySnapshot.Reader reader) {
+        String etag = reader.getString();
+        long fetchedAt = reader.getLong();
+        int count = reader.getInt();
+        List<MenuItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new MenuItem(reader.getString(), reader.getString(), reader.getInt(), reader.getString()));
+        }
+        return new Menu(items, etag, fetchedAt);
+    }
+
+    private Menu loadLegacySnapshot() throws IOException {
+        if (!Files.exists(LEGACY_SNAPSHOT_PATH)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(LEGACY_SNAPSHOT_PATH, StandardCharsets.UTF_8)) {
+            JsonObject snapshot = gson.fromJson(reader, JsonObject.class);
+            String etag = snapshot.has("etag") && !snapshot.get("etag").isJsonNull()
+                    ? snapshot.get("etag").getAsString()
+                    : null;
+            long fetchedAt = snapshot.get("fetchedAt").getAsLong();
+            return new Menu(parseItems(snapshot.getAsJsonArray("menuItems")), etag, fetchedAt);
+        }
+    }
+
+    private void saveSnapshot(Menu menu) {
+        BinarySnapshot.Writer writer = new BinarySnapshot.Writer()
+                .putString(menu.getEtag())
+                .putLong(menu.getFetchedAt())
+                .putInt(menu.getItems().size());
+        for (MenuItem item : menu.getItems()) {
+            writer.putString(item.getId()).putString(item.getName()).putInt(item.getPrice())
+                    .putString(item.getCategory());
+        }
+        try {
+            writer.writeTo(SNAPSHOT_PATH, BinarySnapshot.MENU);
+            Files.deleteIfExists(LEGACY_SNAPSHOT_PATH);
+        } catch (IOException e) {
+            System.err.println("메뉴 스냅샷 저장 실패: " + e.getMessage());
+        }
+    }
+}
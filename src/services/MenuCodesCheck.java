@@ -0,0 +1,64 @@
+package services;
+
+import models.MenuCodes;
+import models.Order;
+import models.OrderStore;
+import models.SalesSnapshot;
+
+import java.util.List;
+
+// 메뉴 코드 점검: 같은 메뉴 id를 여러 이름으로 쓰는 주문 (table.json의 "test_order"/"test"/"test2" 등)
+// - (id, 이름) 쌍마다 다른 코드를 받고 처음 받은 이름으로 덮어쓰지 않는지
+// - 이름으로 수량을 바꿀 때 해당 줄을 찾는지
+// - 매출 집계가 이름별로 나뉘는지
+// 실패하면 종료 코드 1
+//
+// 실행: java services.MenuCodesCheck
+public class MenuCodesCheck {
+    private static final String MENU_ID = "65f0c0ffee00000000000001";
+
+    private static int failures;
+
+    public static void main(String[] args) {
+        MenuCodes menuCodes = new MenuCodes();
+        int test = menuCodes.intern(MENU_ID, "test");
+        int test2 = menuCodes.intern(MENU_ID, "test2");
+        check(test != test2, "같은 id, 다른 이름이 같은 코드를 받음");
+        check(menuCodes.getName(test2).equals("test2"), "이름이 처음 받은 것으로 바뀜: " + menuCodes.getName(test2));
+        check(menuCodes.getMenuId(test2).equals(MENU_ID), "메뉴 id가 다름");
+        check(menuCodes.intern(MENU_ID, "test") == test, "같은 (id, 이름)이 다른 코드를 받음");
+        check(menuCodes.intern(null, "test") != test, "id 없는 이름과 id 있는 메뉴가 같은 코드를 받음");
+
+        OrderStore store = new OrderStore(menuCodes);
+        SalesAggregates sales = new SalesAggregates(menuCodes);
+        store.addSalesListener(sales);
+        store.addOrder(new Order(1, MENU_ID, "test", 1, 1000));
+        store.addOrder(new Order(1, MENU_ID, "test2", 2, 2000));
+
+        List<Order> orders = store.getOrders(1);
+        check(orders.get(0).getItemName().equals("test") && orders.get(1).getItemName().equals("test2"),
+                "주문 표시 이름이 다름: " + orders);
+        check(store.changeQuantity(1, "test2", 1), "이름으로 수량 변경 실패 (줄을 찾지 못함)");
+        check(store.getOrders(1).get(1).getQuantity() == 3, "다른 줄의 수량이 바뀜: " + store.getOrders(1));
+        check(store.getTotal(1) == 1000 + 3 * 2000, "테이블 합계가 다름: " + store.getTotal(1));
+
+        SalesSnapshot snapshot = sales.getSnapshot();
+        check(snapshot.getTopMenus().size() == 2, "집계가 이름별로 나뉘지 않음: " + snapshot.getTopMenus().size());
+        check(snapshot.getTopMenus().get(0).getName().equals("test2") && snapshot.getTopMenus().get(0).getQuantity() == 3,
+                "집계 이름/수량이 다름");
+        check(sales.getQuantity(menuCodes.getKey(test)) == 1, "test 수량이 다름");
+
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures);
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            failures++;
+            System.out.println("실패: " + message);
+        }
+    }
+}
@@ -0,0 +1,649 @@
+package services;
+
+import models.Order;
+import models.OrderLines;
+import models.OrderLog;
+import models.OrderStore;
+import models.TableSnapshot;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// 주문 변경 선기록(write-ahead) 저널
+// - 메모리 매핑된 세그먼트 파일(orders-<세대>.journal)에 추가만 함
+// - 10ms마다 모아서 force (group fsync), force는 잠금 밖에서 하므로 기록(EDT)이 디스크 반영을 기다리지 않음
+// - 시작 시 재생하여 주문 상태와 아직 전송되지 않은 주문을 복구
+// - 압축 시 테이블 상태는 바이너리 스냅샷(floor-<세대>.snapshot)으로 저장하고, 새 세그먼트에는 이후 변경만 기록
+//   주문이 바뀌었으면 30초마다 백그라운드에서 압축하므로 재생할 JSON 레코드는 최근 변경분뿐
+//
+// 세그먼트 구조: [magic 8바이트] 레코드... [길이 0 = 끝]
+// 레코드 구조: [payload 길이 int][type byte][status byte][crc32 int][payload(JSON)]
+// magic은 세그먼트 내용을 모두 쓴 후 마지막에 기록하므로, 압축 도중 종료된 세그먼트는 무시됨
+// 스냅샷은 세그먼트보다 먼저 원자적으로 기록하고, 이전 세대의 스냅샷/세그먼트는 새 세그먼트가 완성된 뒤 매핑을 해제하고 삭제
+// 세그먼트가 3/4 넘게 차면 백그라운드에서 압축 (가득 찬 경우에만 기록하는 스레드에서 바로 압축)
+//
+// 스냅샷은 저널에 기록된 레코드만 반영한 별도 OrderStore(mirror)에서 만듦
+// (다른 스레드가 기록 후 반영하기 전의 주문 상태를 읽어 세그먼트 경계와 어긋나는 일이 없음)
+public class OrderJournal implements OrderLog {
+    private static final OrderJournal INSTANCE = new OrderJournal();
+    private static final Path DIRECTORY = Paths.get(".");
+    private static final String PREFIX = "orders-";
+    private static final String SUFFIX = ".journal";
+    private static final String SNAPSHOT_PREFIX = "floor-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final long COMPACT_INTERVAL_SECONDS = 30;
+    private static final long MAGIC = 0x504F534A524E4C31L; // "POSJRNL1"
+    private static final int CAPACITY = 8 * 1024 * 1024;
+    private static final int HEADER_SIZE = 10;
+    private static final long FLUSH_INTERVAL_MILLIS = 10;
+    private static final int COMPACT_THRESHOLD = CAPACITY / 4 * 3;
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    private static final byte ADD_LINE = 1;
+    private static final byte CHANGE_QUANTITY = 2;
+    private static final byte CLEAR_TABLE = 3;
+    private static final byte SET_TABLE = 4;
+    private static final byte SUBMIT = 5;
+    private static final byte SEQUENCES = 6; // 압축 시 테이블별 마지막 순번 보존
+
+    private static final byte PENDING = 0;
+    private static final byte ACKED = 1;
+    private static final byte REJECTED = 2; // 서버가 거절, 사용자가 다시 보내거나 삭제할 때까지 보관
+
+    private final Gson gson = new Gson();
+    private final Map<Long, PendingSubmit> pending = new LinkedHashMap<>(); // 서버 응답 대기 중인 주문
+    private final Map<Long, PendingSubmit> rejected = new LinkedHashMap<>(); // 서버가 거절한 주문
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "journal-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private OrderStore mirror; // 저널에 기록된 상태 (스냅샷 원본)
+    private long generation;
+    private final Object forceLock = new Object(); // force 중인 세그먼트의 매핑이 해제되지 않도록
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer; // 압축 시 교체 (flush는 잠금 없이 읽음)
+    private long nextSubmitId = 1;
+    private final Map<Integer, Long> lastSequence = new HashMap<>(); // 테이블별 마지막 주문 순번
+    private long appended; // 기록한 레코드 수
+    private long flushed; // force 완료된 레코드 수
+    private long compactedAt; // 마지막 압축 시점의 appended
+    private boolean dirty;
+    private boolean compactScheduled;
+    private int compactedPosition; // 압축 직후 세그먼트에서 다음 레코드 위치
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8 등 지원하지 않는 JVM은 GC가 매핑을 해제할 때까지 이전 세그먼트 삭제가 미뤄짐
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    // 서버에 보내야 할 주문 (레코드 위치는 압축 시 바뀜)
+    // idempotencyKey와 테이블별 sequence는 재전송/재생 시에도 그대로 유지되어 서버가 중복을 걸러낼 수 있음
+    public static class PendingSubmit {
+        private final long id;
+        private final String idempotencyKey;
+        private final int tableNumber;
+        private final long sequence;
+        private final String body;
+        private int position;
+
+        private PendingSubmit(long id, String idempotencyKey, int tableNumber, long sequence, String body,
+                int position) {
+            this.id = id;
+            this.idempotencyKey = idempotencyKey;
+            this.tableNumber = tableNumber;
+            this.sequence = sequence;
+            this.body = body;
+            this.position = position;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public int getTableNumber() {
+            return tableNumber;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+
+    private OrderJournal() {
+    }
+
+    public static OrderJournal getInstance() {
+        return INSTANCE;
+    }
+
+    // 마지막 스냅샷과 세그먼트를 재생하여 store를 복구하고, 현재 상태만 담은 새 세대로 압축한 뒤 기록 시작
+    // 파일 읽기와 압축이 있으므로 EDT가 아닌 스레드에서 호출
+    public synchronized List<PendingSubmit> open(OrderStore store) throws IOException {
+        mirror = new OrderStore(store.getMenuCodes());
+        Path latest = findLatestSegment();
+        if (latest != null) {
+            long start = System.nanoTime();
+            int tables = loadSnapshot(snapshotPath(generation));
+            long snapshotNanos = System.nanoTime() - start;
+            int records = replay(latest, mirror);
+            System.out.printf("[JOURNAL] %s 재생: 스냅샷 테이블 %d개 (%d us), 레코드 %d개, 미전송 주문 %d개 (%d ms)%n",
+                    latest.getFileName(), tables, TimeUnit.NANOSECONDS.toMicros(snapshotNanos), records,
+                    pending.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        for (int tableNumber : mirror.getTableNumbers()) {
+            store.restoreTable(new TableSnapshot.TableState(tableNumber, mirror.copyLines(tableNumber), null));
+        }
+        compact();
+        store.setLog(this);
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::compactIfChanged, COMPACT_INTERVAL_SECONDS, COMPACT_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+        return new ArrayList<>(pending.values());
+    }
+
+    private Path findLatestSegment() throws IOException {
+        Path latest = null;
+        long latestGeneration = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(DIRECTORY, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long fileGeneration = Long.parseLong(
+                            name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                    if (fileGeneration > latestGeneration && hasMagic(file)) {
+                        latest = file;
+                        latestGeneration = fileGeneration;
+                    }
+                } catch (NumberFormatException e) {
+                    // 관련 없는 파일
+                }
+            }
+        }
+        generation = Math.max(latestGeneration, 0);
+        return latest;
+    }
+
+    private static boolean hasMagic(Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(8);
+            return fileChannel.read(magic, 0) == 8 && magic.getLong(0) == MAGIC;
+        }
+    }
+
+    private int replay(Path file, OrderStore target) throws IOException {
+        int records = 0;
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer source = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            try {
+                int position = 8;
+                while (position + HEADER_SIZE <= source.limit()) {
+                    int length = source.getInt(position);
+                    if (length <= 0 || position + HEADER_SIZE + length > source.limit()) {
+                        break; // 끝 또는 잘린 레코드
+                    }
+                    byte type = source.get(position + 4);
+                    byte status = source.get(position + 5);
+                    int crc = source.getInt(position + 6);
+                    byte[] payload = new byte[length];
+                    source.position(position + HEADER_SIZE);
+                    source.get(payload);
+                    if (crc(payload) != crc) {
+                        System.err.println("[JOURNAL] 손상된 레코드에서 재생 중단: " + position);
+                        break;
+                    }
+                    apply(type, status,
+                            gson.fromJson(new String(payload, StandardCharsets.UTF_8), JsonObject.class), target);
+                    records++;
+                    position += HEADER_SIZE + length;
+                }
+            } finally {
+                unmap(source); // 압축 후 이 세그먼트를 삭제할 수 있도록
+            }
+        }
+        return records;
+    }
+
+    private void apply(byte type, byte status, JsonObject record, OrderStore target) {
+        int tableNumber = record.get("table").getAsInt();
+        switch (type) {
+            case ADD_LINE:
+            case CHANGE_QUANTITY:
+            case CLEAR_TABLE:
+            case SET_TABLE:
+                applyToTables(type, tableNumber, record, target);
+                break;
+            case SUBMIT:
+                long id = record.get("id").getAsLong();
+                long sequence = record.has("seq") ? record.get("seq").getAsLong() : 0;
+                String key = record.has("key") ? record.get("key").getAsString() : "submit-" + id;
+                nextSubmitId = Math.max(nextSubmitId, id + 1);
+                lastSequence.merge(tableNumber, sequence, Math::max);
+                if (status == PENDING || status == REJECTED) {
+                    (status == PENDING ? pending : rejected).put(id, new PendingSubmit(id, key, tableNumber,
+                            sequence, record.get("body").getAsString(), -1));
+                }
+                break;
+            case SEQUENCES:
+                for (Map.Entry<String, JsonElement> entry : record.getAsJsonObject("sequences").entrySet()) {
+                    lastSequence.merge(Integer.parseInt(entry.getKey()), entry.getValue().getAsLong(), Math::max);
+                }
+                break;
+            default:
+                System.err.println("[JOURNAL] 알 수 없는 레코드 타입: " + type);
+        }
+    }
+
+    private static void applyToTables(byte type, int tableNumber, JsonObject record, OrderStore target) {
+        switch (type) {
+            case ADD_LINE:
+                target.addOrder(toOrder(tableNumber, record));
+                break;
+            case CHANGE_QUANTITY:
+                target.changeQuantity(tableNumber, record.get("name").getAsString(),
+                        record.get("adjustment").getAsInt());
+                break;
+            case CLEAR_TABLE:
+                target.clearTable(tableNumber);
+                break;
+            case SET_TABLE:
+                OrderLines lines = new OrderLines();
+                for (JsonElement element : record.getAsJsonArray("lines")) {
+                    Order order = toOrder(tableNumber, element.getAsJsonObject());
+                    lines.add(target.getMenuCodes().intern(order.getMenuId(), order.getItemName()),
+                            order.getQuantity(), order.getPrice());
+                }
+                target.replaceTable(new TableSnapshot.TableState(tableNumber, lines, null));
+                break;
+            default:
+                break;
+        }
+    }
+
+    // 세그먼트가 기대하는 세대의 스냅샷을 mirror에 적용, 적용한 테이블 수 반환
+    // (스냅샷이 없으면 이전 형식 세그먼트이므로 세그먼트의 SET_TABLE 레코드로 복구됨)
+    private int loadSnapshot(Path path) {
+        try {
+            return FloorSnapshot.read(path, generation, mirror);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[JOURNAL] 테이블 스냅샷 로드 실패: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // 마지막 압축 이후 기록이 있으면 새 세대로 압축 (백그라운드)
+    private synchronized void compactIfChanged() {
+        compactScheduled = false;
+        if (appended == compactedAt) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException e) {
+            System.err.println("[JOURNAL] 압축 실패: " + e.getMessage());
+        }
+    }
+
+    // 현재 주문 상태는 스냅샷에, 미전송/거절된 주문은 새 세그먼트에 담고 이전 세대는 삭제
+    private void compact() throws IOException {
+        FileChannel previousChannel = channel;
+        MappedByteBuffer previousBuffer = buffer;
+
+        generation++;
+        FloorSnapshot.write(snapshotPath(generation), generation, mirror); // 세그먼트가 완성되기 전에는 이전 세대가 유효
+        Path path = segmentPath(generation);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CAPACITY);
+        buffer.position(8);
+
+        JsonObject sequences = new JsonObject();
+        for (Map.Entry<Integer, Long> entry : lastSequence.entrySet()) {
+            sequences.addProperty(String.valueOf(entry.getKey()), entry.getValue());
+        }
+        JsonObject sequenceRecord = new JsonObject();
+        sequenceRecord.addProperty("table", 0);
+        sequenceRecord.add("sequences", sequences);
+        writeRecord(SEQUENCES, PENDING, sequenceRecord);
+        for (PendingSubmit submit : pending.values()) {
+            submit.position = writeRecord(SUBMIT, PENDING, submitRecord(submit));
+        }
+        for (PendingSubmit submit : rejected.values()) {
+            submit.position = writeRecord(SUBMIT, REJECTED, submitRecord(submit));
+        }
+        compactedPosition = buffer.position();
+        buffer.force();
+        buffer.putLong(0, MAGIC); // 내용이 모두 기록된 후에 유효한 세그먼트로 표시
+        buffer.force();
+        flushed = appended;
+        compactedAt = appended;
+        dirty = false;
+
+        if (previousChannel != null) {
+            synchronized (forceLock) {
+                unmap(previousBuffer); // 매핑이 남아 있으면 Windows에서 삭제되지 않음
+            }
+            previousChannel.close();
+        }
+        deleteOldSegments();
+    }
+
+    // 해제한 뒤 접근하면 JVM이 비정상 종료되므로 더 이상 쓰지 않는 버퍼만 전달
+    private static void unmap(MappedByteBuffer mapped) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, mapped);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            System.err.println("[JOURNAL] 세그먼트 매핑 해제 실패: " + e);
+        }
+    }
+
+    private void deleteOldSegments() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(DIRECTORY,
+                "{" + PREFIX + "*" + SUFFIX + "," + SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX + "}")) {
+            for (Path file : files) {
+                if (!file.getFileName().equals(segmentPath(generation).getFileName())
+                        && !file.getFileName().equals(snapshotPath(generation).getFileName())) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        // 매핑이 해제되지 않은 경우 (Windows, 해제를 지원하지 않는 JVM) 다음 압축 때 다시 시도
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[JOURNAL] 이전 세그먼트 삭제 실패: " + e.getMessage());
+        }
+    }
+
+    private static Path segmentPath(long segmentGeneration) {
+        return DIRECTORY.resolve(PREFIX + segmentGeneration + SUFFIX);
+    }
+
+    private static Path snapshotPath(long snapshotGeneration) {
+        return DIRECTORY.resolve(SNAPSHOT_PREFIX + snapshotGeneration + SNAPSHOT_SUFFIX);
+    }
+
+    private int writeRecord(byte type, byte status, JsonObject record) {
+        byte[] payload = gson.toJson(record).getBytes(StandardCharsets.UTF_8);
+        int position = buffer.position(); // 이 위치의 길이 값은 아직 0 (끝 표시)
+        buffer.position(position + 4);
+        buffer.put(type);
+        buffer.put(status);
+        buffer.putInt(crc(payload));
+        buffer.put(payload);
+        int end = buffer.position();
+        if (end + 4 <= buffer.limit()) {
+            buffer.putInt(end, 0); // 다음 레코드 자리를 끝으로 표시
+        }
+        buffer.putInt(position, payload.length); // 길이를 마지막에 기록하여 잘린 레코드가 보이지 않게 함
+        appended++;
+        dirty = true;
+        return position;
+    }
+
+    // 3/4를 넘으면 백그라운드 압축을 예약하고, 그 전에 가득 차면 바로 압축 후 기록
+    private synchronized int append(byte type, byte status, JsonObject record) {
+        int size = HEADER_SIZE + gson.toJson(record).getBytes(StandardCharsets.UTF_8).length + 4;
+        try {
+            if (buffer.position() + size > buffer.limit()) {
+                compact();
+                if (buffer.position() + size > buffer.limit()) {
+                    throw new IOException("저널 공간 부족");
+                }
+            }
+            int position = writeRecord(type, status, record);
+            if (type <= SET_TABLE) {
+                applyToTables(type, record.get("table").getAsInt(), record, mirror);
+            }
+            // 압축 직후 이미 3/4를 넘었으면 (미전송 주문이 많음) 다시 압축해도 줄지 않으므로 예약하지 않음
+            if (buffer.position() > COMPACT_THRESHOLD && compactedPosition <= COMPACT_THRESHOLD
+                    && !compactScheduled) {
+                compactScheduled = true;
+                flusher.execute(this::compactIfChanged);
+            }
+            return position;
+        } catch (IOException e) {
+            System.err.println("[JOURNAL] 기록 실패: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    // 주문 전송을 기록하고 디스크에 반영될 때까지 대기
+    public PendingSubmit appendSubmit(int tableNumber, String body) {
+        PendingSubmit submit;
+        long target;
+        synchronized (this) {
+            long id = nextSubmitId++;
+            long sequence = lastSequence.merge(tableNumber, 1L, Long::sum);
+            submit = new PendingSubmit(id, UUID.randomUUID().toString(), tableNumber, sequence, body, -1);
+            submit.position = append(SUBMIT, PENDING, submitRecord(submit));
+            pending.put(id, submit);
+            target = appended;
+        }
+        awaitFlushed(target);
+        return submit;
+    }
+
+    // 서버가 받은 주문은 상태 바이트만 바꿈 (추가 기록 없음)
+    public synchronized void markAcked(long id) {
+        PendingSubmit submit = pending.remove(id);
+        if (submit != null) {
+            setStatus(submit, ACKED);
+        }
+    }
+
+    // 거절된 주문은 완료 처리하지 않고 따로 보관 (재시작해도 유지)
+    public synchronized void markRejected(long id) {
+        PendingSubmit submit = pending.remove(id);
+        if (submit != null) {
+            rejected.put(id, submit);
+            setStatus(submit, REJECTED);
+        }
+    }
+
+    // 거절된 주문을 다시 전송 대기로 되돌림
+    // 같은 테이블에 이후 주문이 있으면 (테이블 전체를 보내므로 다시 보내면 서버의 최신 주문을 덮어씀) 되돌리지 않고 삭제
+    public synchronized boolean markPending(long id) {
+        PendingSubmit submit = rejected.remove(id);
+        if (submit == null) {
+            return false;
+        }
+        if (submit.sequence < lastSequence.getOrDefault(submit.tableNumber, 0L)) {
+            setStatus(submit, ACKED);
+            return false;
+        }
+        pending.put(id, submit);
+        setStatus(submit, PENDING);
+        return true;
+    }
+
+    // 사용자가 삭제한 거절 주문
+    public synchronized void dismiss(long id) {
+        PendingSubmit submit = rejected.remove(id);
+        if (submit != null) {
+            setStatus(submit, ACKED);
+        }
+    }
+
+    // 서버 응답을 기다리거나 거절된 주문이 있는 테이블 (서버가 보낸 상태보다 로컬 상태가 최신)
+    public synchronized boolean hasUnsent(int tableNumber) {
+        for (PendingSubmit submit : pending.values()) {
+            if (submit.tableNumber == tableNumber) {
+                return true;
+            }
+        }
+        for (PendingSubmit submit : rejected.values()) {
+            if (submit.tableNumber == tableNumber && submit.sequence >= lastSequence.getOrDefault(tableNumber, 0L)) {
+                return true; // 이후 주문으로 대체된 거절 주문은 다시 보내지 않으므로 제외
+            }
+        }
+        return false;
+    }
+
+    public synchronized List<PendingSubmit> getRejected() {
+        return new ArrayList<>(rejected.values());
+    }
+
+    private void setStatus(PendingSubmit submit, byte status) {
+        if (submit.position >= 0) {
+            buffer.put(submit.position + 5, status);
+            dirty = true;
+        }
+    }
+
+    private synchronized void awaitFlushed(long target) {
+        while (flushed < target) {
+            try {
+                wait(FLUSH_INTERVAL_MILLIS * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 기록할 세그먼트와 레코드 수만 잠금 안에서 가져오고 force는 잠금 밖에서 함 (그동안 기록은 계속됨)
+    private void flush() {
+        MappedByteBuffer target;
+        long count;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            target = buffer;
+            count = appended;
+        }
+        synchronized (forceLock) {
+            if (target != buffer) {
+                return; // 그 사이 압축됨 (압축이 force하고 flushed를 갱신함, 이전 세그먼트는 매핑 해제됨)
+            }
+            target.force();
+        }
+        synchronized (this) {
+            flushed = Math.max(flushed, count);
+            notifyAll();
+        }
+    }
+
+    @Override
+    public void orderAdded(Order order) {
+        JsonObject record = lineRecord(order);
+        record.addProperty("table", order.getTableNumber());
+        append(ADD_LINE, PENDING, record);
+    }
+
+    @Override
+    public void quantityChanged(int tableNumber, String itemName, int adjustment) {
+        JsonObject record = new JsonObject();
+        record.addProperty("table", tableNumber);
+        record.addProperty("name", itemName);
+        record.addProperty("adjustment", adjustment);
+        append(CHANGE_QUANTITY, PENDING, record);
+    }
+
+    @Override
+    public void tableCleared(int tableNumber) {
+        JsonObject record = new JsonObject();
+        record.addProperty("table", tableNumber);
+        append(CLEAR_TABLE, PENDING, record);
+    }
+
+    @Override
+    public void tableReplaced(TableSnapshot.TableState state) {
+        append(SET_TABLE, PENDING, tableRecord(state.getTableNumber(), state.getLines()));
+    }
+
+    private JsonObject tableRecord(int tableNumber, OrderLines orders) {
+        JsonArray lines = new JsonArray();
+        for (int i = 0; i < orders.size(); i++) {
+            lines.add(lineRecord(orders.toOrder(tableNumber, i, mirror.getMenuCodes())));
+        }
+        JsonObject record = new JsonObject();
+        record.addProperty("table", tableNumber);
+        record.add("lines", lines);
+        return record;
+    }
+
+    private static JsonObject lineRecord(Order order) {
+        JsonObject line = new JsonObject();
+        line.addProperty("menuId", order.getMenuId());
+        line.addProperty("name", order.getItemName());
+        line.addProperty("quantity", order.getQuantity());
+        line.addProperty("price", order.getPrice());
+        return line;
+    }
+
+    private static JsonObject submitRecord(PendingSubmit submit) {
+        JsonObject record = new JsonObject();
+        record.addProperty("id", submit.id);
+        record.addProperty("key", submit.idempotencyKey);
+        record.addProperty("table", submit.tableNumber);
+        record.addProperty("seq", submit.sequence);
+        record.addProperty("body", submit.body);
+        return record;
+    }
+
+    private static Order toOrder(int tableNumber, JsonObject line) {
+        return new Order(tableNumber,
+                line.has("menuId") && !line.get("menuId").isJsonNull() ? line.get("menuId").getAsString() : null,
+                line.get("name").getAsString(),
+                line.get("quantity").getAsInt(),
+                line.get("price").getAsInt());
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,227 @@
+package services;
+
+import services.OrderJournal.PendingSubmit;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import okhttp3.Response;
+
+// 저널에 기록된 주문을 서버로 전송하는 대기열
+// - 같은 테이블의 연속된 주문은 마지막 것 하나만 전송 (테이블 전체 주문을 보내므로 이전 것은 대체됨)
+// - 테이블별로 한 번에 하나만 전송하여 순서 보장
+// - 동시에 전송 중인 요청 수 제한, 실패 시 테이블별 지수 백오프
+// - 서버에 묶음 전송 API가 없으므로 테이블마다 별도 요청, 대기가 쌓이면 동시 전송 한도까지 병렬로 보냄
+// - 서버가 받은 주문은 저널에 완료로 기록되어 다시 보내지 않음, 응답을 받기 전에 끊겨 다시 보낸 주문은
+//   같은 Idempotency-Key로 보내므로 서버가 중복을 걸러냄
+// - 재시도해도 소용없는 4xx 거절은 완료 처리하지 않고 저널에 거절로 남겨 리스너에 알림 (다시 전송 또는 삭제는 사용자가 결정)
+public class OrderSender {
+    private static final OrderSender INSTANCE = new OrderSender();
+    private static final int MAX_IN_FLIGHT = 4;
+    private static final long COALESCE_MILLIS = 200; // 연속 주문을 모으는 시간
+    private static final long INITIAL_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    // EDT에서 호출
+    public interface Listener {
+        void orderRejected(PendingSubmit submit, String reason);
+    }
+
+    private enum Result {
+        SENT, REJECTED, RETRY
+    }
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Integer, TableQueue> tables = new LinkedHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            daemonThreads("order-sender"));
+    private final ExecutorService senders = Executors.newFixedThreadPool(MAX_IN_FLIGHT,
+            daemonThreads("order-sender-io"));
+    private int inFlight;
+
+    // 테이블별 대기 중인 주문과 재시도 상태
+    private static class TableQueue {
+        private final Deque<PendingSubmit> waiting = new ArrayDeque<>();
+        private boolean sending;
+        private int failures;
+        private long nextAttemptAt;
+    }
+
+    private OrderSender() {
+    }
+
+    public static OrderSender getInstance() {
+        return INSTANCE;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // 재생된 미전송 주문부터 보내기 시작, 이전 실행에서 거절된 주문은 다시 알림
+    public void start(List<PendingSubmit> replayed) {
+        synchronized (this) {
+            for (PendingSubmit submit : replayed) {
+                enqueue(submit);
+            }
+        }
+        for (PendingSubmit submit : OrderJournal.getInstance().getRejected()) {
+            fireRejected(submit, "이전 실행에서 서버가 거절한 주문");
+        }
+        scheduler.execute(this::dispatch);
+    }
+
+    // 거절된 주문을 다시 전송 대기열에 넣음
+    // 이미 처리되었거나 같은 테이블에 이후 주문이 있어 삭제한 경우 false
+    public boolean retry(PendingSubmit submit) {
+        if (!OrderJournal.getInstance().markPending(submit.getId())) {
+            return false;
+        }
+        synchronized (this) {
+            TableQueue queue = tables.computeIfAbsent(submit.getTableNumber(), k -> new TableQueue());
+            queue.waiting.addLast(submit); // 테이블의 마지막 주문이므로 대기 중인 주문보다 나중에 보냄
+            queue.failures = 0;
+            queue.nextAttemptAt = 0;
+        }
+        scheduler.execute(this::dispatch);
+        return true;
+    }
+
+    // 거절된 주문을 보내지 않고 삭제
+    public void discard(PendingSubmit submit) {
+        OrderJournal.getInstance().dismiss(submit.getId());
+    }
+
+    // 저널에 기록(디스크 반영)한 후 전송 대기열에 추가
+    public void submit(int tableNumber, String jsonData) {
+        PendingSubmit submit = OrderJournal.getInstance().appendSubmit(tableNumber, jsonData);
+        synchronized (this) {
+            enqueue(submit);
+        }
+        scheduler.schedule(this::dispatch, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void enqueue(PendingSubmit submit) {
+        tables.computeIfAbsent(submit.getTableNumber(), k -> new TableQueue()).waiting.addLast(submit);
+    }
+
+    // 보낼 수 있는 테이블을 모두 꺼내 전송 (동시 전송 수 제한 내에서)
+    private synchronized void dispatch() {
+        long now = System.currentTimeMillis();
+        long nextWakeUp = Long.MAX_VALUE;
+
+        for (Map.Entry<Integer, TableQueue> entry : tables.entrySet()) {
+            TableQueue queue = entry.getValue();
+            if (queue.sending || queue.waiting.isEmpty()) {
+                continue;
+            }
+            if (queue.nextAttemptAt > now) {
+                nextWakeUp = Math.min(nextWakeUp, queue.nextAttemptAt);
+                continue;
+            }
+            if (inFlight >= MAX_IN_FLIGHT) {
+                break; // 전송이 끝나면 다시 dispatch됨
+            }
+
+            List<PendingSubmit> coalesced = new ArrayList<>(queue.waiting);
+            queue.waiting.clear();
+            queue.sending = true;
+            inFlight++;
+            senders.execute(() -> sendAndComplete(queue, coalesced));
+        }
+
+        if (nextWakeUp != Long.MAX_VALUE) {
+            scheduler.schedule(this::dispatch, nextWakeUp - now, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sendAndComplete(TableQueue queue, List<PendingSubmit> coalesced) {
+        PendingSubmit latest = coalesced.get(coalesced.size() - 1);
+        String[] reason = new String[1];
+        Result result = send(latest, reason);
+
+        synchronized (this) {
+            queue.sending = false;
+            inFlight--;
+            if (result != Result.RETRY) {
+                queue.failures = 0;
+                for (PendingSubmit submit : coalesced) {
+                    if (submit == latest && result == Result.REJECTED) {
+                        OrderJournal.getInstance().markRejected(submit.getId());
+                    } else {
+                        OrderJournal.getInstance().markAcked(submit.getId()); // 대체된 주문도 함께 완료 처리
+                    }
+                }
+            } else {
+                // 실패한 주문을 앞에 되돌리고 (그 사이 들어온 주문은 뒤에 유지) 백오프
+                for (int i = coalesced.size() - 1; i >= 0; i--) {
+                    queue.waiting.addFirst(coalesced.get(i));
+                }
+                queue.failures++;
+                queue.nextAttemptAt = System.currentTimeMillis() + backoff(queue.failures);
+            }
+        }
+        if (result == Result.REJECTED) {
+            fireRejected(latest, reason[0]);
+        }
+        scheduler.execute(this::dispatch);
+    }
+
+    private void fireRejected(PendingSubmit submit, String reason) {
+        SwingUtilities.invokeLater(() -> {
+            for (Listener listener : listeners) {
+                listener.orderRejected(submit, reason);
+            }
+        });
+    }
+
+    // 지수 백오프 + 지터
+    private static long backoff(int failures) {
+        long delay = Math.min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << Math.min(failures - 1, 16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    // 거절이면 reason[0]에 서버 응답을 담음
+    private Result send(PendingSubmit submit, String[] reason) {
+        try (Response response = ApiClient.getInstance().executeNewOrder(submit.getTableNumber(), submit.getBody(),
+                submit.getIdempotencyKey(), submit.getSequence())) {
+            String responseBody = response.body() != null ? response.body().string() : "No Response Body";
+            if (response.isSuccessful()) {
+                System.out.println("주문이 성공적으로 저장되었습니다! 응답: " + responseBody); // 성공 메시지 출력
+                return Result.SENT;
+            }
+            System.err.println("주문 데이터 전송 실패: " + response.code() + " 응답: " + responseBody); // 실패 메시지 출력
+            int code = response.code();
+            if (code >= 400 && code < 500 && code != 408 && code != 429) {
+                reason[0] = code + " " + responseBody;
+                return Result.REJECTED; // 다시 보내도 같은 응답이므로 재시도하지 않음
+            }
+            return Result.RETRY;
+        } catch (IOException e) {
+            System.err.println("주문 데이터 전송 실패: " + e.getMessage() + " (재시도 예정)");
+            return Result.RETRY;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package services;
+
+import models.MenuCodes;
+import models.Order;
+import models.OrderLines;
+import models.OrderStore;
+import models.TableSnapshot;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// OrderStore 동시성 점검
+// 1) 추가만: 여러 스레드가 동시에 주문을 넣은 뒤 수량/합계가 정확히 맞는지
+// 2) 혼합: 추가/수량 변경/비우기/교체를 섞는 동안 읽기 스레드가 본 테이블 상태가 항상 일관적인지,
+//    끝난 뒤 전체 합계 = 테이블 합계의 합 = 매출 집계 합계인지
+// 실패하면 종료 코드 1
+//
+// 실행: java services.OrderStoreStress [쓰기 스레드 수] [스레드당 작업 수]
+public class OrderStoreStress {
+    private static final int TABLES = 20;
+    private static final int MENUS = 40;
+    private static final int ADDS_PER_THREAD = 2_000; // 테이블당 수백 줄 (실제 테이블보다 훨씬 많음)
+
+    private static final AtomicLong failures = new AtomicLong();
+
+    public static void main(String[] args) throws InterruptedException {
+        int writers = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        addOnly(writers, ADDS_PER_THREAD);
+        mixed(writers, operations);
+
+        if (failures.get() > 0) {
+            System.out.println("FAILED: " + failures.get());
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static void addOnly(int writers, int operations) throws InterruptedException {
+        MenuCodes menuCodes = new MenuCodes();
+        OrderStore store = new OrderStore(menuCodes);
+        SalesAggregates sales = new SalesAggregates(menuCodes);
+        store.addSalesListener(sales);
+
+        long elapsed = run(writers, 0, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < operations; i++) {
+                int menu = random.nextInt(MENUS);
+                store.addOrder(new Order(1 + random.nextInt(TABLES), "menu-" + menu, "메뉴" + menu, 1, 1000));
+            }
+        }, () -> {
+        });
+
+        long expected = (long) writers * operations;
+        long lines = 0;
+        long total = 0;
+        for (int table : store.getTableNumbers()) {
+            lines += store.getLineCount(table);
+            total += store.getTotal(table);
+        }
+        check(lines == expected, "추가된 줄 수 " + lines + " != " + expected);
+        check(total == expected * 1000, "테이블 합계 " + total + " != " + expected * 1000);
+        check(store.getGrandTotal() == total, "전체 합계 " + store.getGrandTotal() + " != " + total);
+        check(sales.getSnapshot().getTotalQuantity() == expected, "집계 수량 불일치");
+        report("추가만", expected, elapsed);
+    }
+
+    private static void mixed(int writers, int operations) throws InterruptedException {
+        MenuCodes menuCodes = new MenuCodes();
+        OrderStore store = new OrderStore(menuCodes);
+        SalesAggregates sales = new SalesAggregates(menuCodes);
+        store.addSalesListener(sales);
+        AtomicLong reads = new AtomicLong();
+        AtomicBoolean done = new AtomicBoolean();
+
+        Runnable writer = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < operations; i++) {
+                int table = 1 + random.nextInt(TABLES);
+                int menu = random.nextInt(MENUS);
+                int operation = random.nextInt(100);
+                if (operation < 50) {
+                    store.addOrder(new Order(table, "menu-" + menu, "메뉴" + menu, 1 + random.nextInt(3),
+                            1000 + menu * 100));
+                } else if (operation < 85) {
+                    store.changeQuantity(table, "메뉴" + menu, random.nextBoolean() ? 1 : -2);
+                } else if (operation < 95) {
+                    OrderLines lines = new OrderLines();
+                    for (int k = random.nextInt(4); k > 0; k--) {
+                        int replaced = random.nextInt(MENUS);
+                        lines.add(menuCodes.intern("menu-" + replaced, "메뉴" + replaced), 1 + random.nextInt(3),
+                                1000 + replaced * 100);
+                    }
+                    store.replaceTable(new TableSnapshot.TableState(table, lines, null));
+                } else {
+                    store.clearTable(table);
+                }
+            }
+        };
+
+        // 읽기 스레드: 한 번 읽은 테이블 목록의 합계가 줄의 합과 같아야 함 (중간 상태가 보이면 안 됨)
+        Runnable reader = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (!done.get()) {
+                int table = 1 + random.nextInt(TABLES);
+                List<Order> orders = store.getOrders(table);
+                OrderLines lines = store.copyLines(table);
+                long sum = 0;
+                for (int i = 0; i < lines.size(); i++) {
+                    sum += (long) lines.getQuantity(i) * lines.getPrice(i);
+                    check(lines.getQuantity(i) > 0, "수량 0 이하인 줄이 보임");
+                }
+                check(sum == lines.getTotal(), "테이블 " + table + " 합계 불일치 " + sum + " != " + lines.getTotal());
+                for (Order order : orders) {
+                    check(order.getQuantity() > 0 && order.getTableNumber() == table, "잘못된 주문 " + order);
+                }
+                reads.incrementAndGet();
+            }
+        };
+
+        long elapsed = run(writers, 2, writer, reader, done);
+
+        long total = 0;
+        for (int table : store.getTableNumbers()) {
+            total += store.getTotal(table);
+        }
+        check(store.getGrandTotal() == total, "전체 합계 " + store.getGrandTotal() + " != " + total);
+        check(sales.getSnapshot().getTotalSales() == total,
+                "매출 집계 " + sales.getSnapshot().getTotalSales() + " != " + total);
+        report("혼합", (long) writers * operations, elapsed);
+        System.out.printf("  동시 읽기 %d회%n", reads.get());
+    }
+
+    private static long run(int writers, int readers, Runnable writer, Runnable reader) throws InterruptedException {
+        return run(writers, readers, writer, reader, new AtomicBoolean());
+    }
+
+    // 모든 스레드를 동시에 출발시키고 쓰기 스레드가 끝나면 읽기 스레드를 멈춤
+    private static long run(int writers, int readers, Runnable writer, Runnable reader, AtomicBoolean done)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] writerThreads = new Thread[writers];
+        Thread[] readerThreads = new Thread[readers];
+        for (int i = 0; i < writers; i++) {
+            writerThreads[i] = startThread("stress-writer-" + i, start, writer);
+        }
+        for (int i = 0; i < readers; i++) {
+            readerThreads[i] = startThread("stress-reader-" + i, start, reader);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : writerThreads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        done.set(true);
+        for (Thread thread : readerThreads) {
+            thread.join();
+        }
+        return elapsed;
+    }
+
+    private static Thread startThread(String name, CountDownLatch start, Runnable body) {
+        Thread thread = new Thread(() -> {
+            try {
+                start.await();
+                body.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                check(false, name + " 예외: " + e);
+            }
+        }, name);
+        thread.start();
+        return thread;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition && failures.incrementAndGet() <= 10) {
+            System.out.println("  실패: " + message);
+        }
+    }
+
+    private static void report(String label, long operations, long nanos) {
+        System.out.printf("%s: %d건, %.0f ms, %.0f ops/s%n", label, operations,
+                TimeUnit.NANOSECONDS.toMillis(nanos) * 1.0, operations / (nanos / 1_000_000_000.0));
+    }
+}
@@ -0,0 +1,158 @@
+package services;
+
+import models.MenuCodes;
+import models.SalesListener;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 장기간 인기 메뉴 (메뉴 id + 이름 기준, 날짜별 Space-Saving 집계를 저장하고 필요한 기간만 합침)
+// 하루 집계는 popularity/yyyy-MM-dd.json 에 1분마다 저장, 지난 날짜는 바뀌지 않으므로 한 번 읽으면 캐시
+// 이 단말의 주문과 푸시/폴링으로 받은 다른 단말·고객 앱 주문을 모두 세므로 단말마다 같은 매장 전체 집계를 가짐
+public class PopularityHistory implements SalesListener {
+    private static final int CAPACITY = 500; // 옵션 포함 메뉴 수백 개 기준
+    private static final Path DIRECTORY = Paths.get("popularity");
+    private static final long SAVE_INTERVAL_SECONDS = 60;
+
+    private final MenuCodes menuCodes;
+    private final Clock clock; // 날짜 경계 기준 (SalesWindowsCheck에서 날짜를 넘겨 가며 점검)
+    private final Gson gson = new Gson();
+    private final Map<LocalDate, SpaceSaving> pastDays = new HashMap<>();
+    private final ScheduledExecutorService saver = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "popularity-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private LocalDate day;
+    private SpaceSaving today;
+    private boolean dirty;
+
+    public PopularityHistory(MenuCodes menuCodes) {
+        this(menuCodes, Clock.systemDefaultZone());
+    }
+
+    public PopularityHistory(MenuCodes menuCodes, Clock clock) {
+        this.menuCodes = menuCodes;
+        this.clock = clock;
+        day = LocalDate.now(clock);
+        today = load(day);
+        saver.scheduleWithFixedDelay(this::saveIfDirty, SAVE_INTERVAL_SECONDS, SAVE_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    @Override
+    public synchronized void lineChanged(int menuCode, int price, int delta, Source source) {
+        if (source != Source.LOCAL && source != Source.SYNC) {
+            return; // 새 주문/취소만 집계 (결제로 비운 주문, 저널 복구/시작 시 전체 목록 제외)
+        }
+        rollOver();
+        if (delta > 0) {
+            today.add(menuCodes.getKey(menuCode), menuCodes.getName(menuCode), delta);
+        } else {
+            today.remove(menuCodes.getKey(menuCode), -delta);
+        }
+        dirty = true;
+    }
+
+    // 오늘을 포함한 최근 days일의 집계를 합친 결과
+    public synchronized SpaceSaving getRecent(int days) {
+        rollOver();
+        SpaceSaving merged = new SpaceSaving(CAPACITY).merge(today); // 오늘 집계는 복사본으로 반환
+        for (int i = 1; i < days; i++) {
+            LocalDate past = day.minusDays(i);
+            merged = merged.merge(pastDays.computeIfAbsent(past, this::load));
+        }
+        return merged;
+    }
+
+    // 날짜가 바뀌면 어제 집계를 저장하고 새로 시작
+    private void rollOver() {
+        LocalDate now = LocalDate.now(clock);
+        if (!now.isAfter(day)) {
+            return;
+        }
+        LocalDate finishedDay = day;
+        String json = gson.toJson(today.toJson());
+        saver.execute(() -> write(finishedDay, json)); // 저장 스레드에서 순서대로 기록
+        pastDays.put(day, today);
+        day = now;
+        today = new SpaceSaving(CAPACITY);
+        dirty = false;
+    }
+
+    private void saveIfDirty() {
+        LocalDate saveDay;
+        String json;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            saveDay = day;
+            json = gson.toJson(today.toJson()); // 잠금 안에서는 직렬화만
+        }
+        write(saveDay, json);
+    }
+
+    private void write(LocalDate saveDay, String json) {
+        try {
+            Files.createDirectories(DIRECTORY);
+            Path path = fileFor(saveDay);
+            // 임시 파일에 쓴 후 교체
+            Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                writer.write(json);
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("인기 메뉴 집계 저장 실패: " + e.getMessage());
+        }
+    }
+
+    private SpaceSaving load(LocalDate loadDay) {
+        Path path = fileFor(loadDay);
+        if (!Files.exists(path)) {
+            return new SpaceSaving(CAPACITY);
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return SpaceSaving.fromJson(upgradeKeys(gson.fromJson(reader, JsonObject.class)));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("인기 메뉴 집계 로드 실패 (" + loadDay + "): " + e.getMessage());
+            return new SpaceSaving(CAPACITY);
+        }
+    }
+
+    // 이전 파일은 메뉴 id(없으면 이름)만 키로 썼으므로 MenuCodes.getKey 형식(id + \u0000 + 이름)으로 바꿈
+    private static JsonObject upgradeKeys(JsonObject json) {
+        for (JsonElement element : json.getAsJsonArray("counters")) {
+            JsonObject item = element.getAsJsonObject();
+            String key = item.get("key").getAsString();
+            if (key.indexOf('\u0000') < 0) {
+                String name = item.get("name").getAsString();
+                item.addProperty("key", (key.equals(name) ? "" : key) + "\u0000" + name);
+            }
+        }
+        return json;
+    }
+
+    private static Path fileFor(LocalDate fileDay) {
+        return DIRECTORY.resolve(fileDay + ".json");
+    }
+}
@@ -0,0 +1,96 @@
+package services;
+
+import models.Order;
+import models.Receipt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+// 영수증 생성 성능 측정
+// - 첫 영수증까지 걸린 시간 (폰트 로드 포함)
+// - 템플릿 재사용 시 초당 영수증 수 vs 영수증마다 템플릿(폰트)을 새로 로드할 때
+// - ESC/POS 직접 출력과 비교
+//
+// 실행: java services.ReceiptBenchmark [영수증 수] [항목 수]
+public class ReceiptBenchmark {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int lineCount = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        Receipt receipt = sampleReceipt(lineCount);
+
+        long start = System.nanoTime();
+        ReceiptTemplate template = ReceiptTemplate.load();
+        int size = render(template, receipt);
+        System.out.printf("첫 영수증: %.1f ms (%d bytes)%n", (System.nanoTime() - start) / 1_000_000.0, size);
+
+        // 워밍업 후 측정
+        for (int i = 0; i < count / 10; i++) {
+            render(template, receipt);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            render(template, receipt);
+        }
+        report("템플릿 재사용", count, System.nanoTime() - start);
+
+        int uncachedCount = Math.max(1, count / 10);
+        start = System.nanoTime();
+        for (int i = 0; i < uncachedCount; i++) {
+            render(ReceiptTemplate.load(), receipt);
+        }
+        report("매번 폰트 로드", uncachedCount, System.nanoTime() - start);
+
+        benchmarkEscPos(receipt, count);
+    }
+
+    // 임시 파일을 프린터 장치 대신 사용, 출력이 밀리면 여러 장이 한 번에 기록됨
+    private static void benchmarkEscPos(Receipt receipt, int count) throws IOException, InterruptedException {
+        Path device = Files.createTempFile("receipt_printer", ".bin");
+        EscPosPrinter printer = new EscPosPrinter(device);
+
+        long start = System.nanoTime();
+        printer.render(receipt).join();
+        System.out.printf("ESC/POS 첫 영수증: %.1f ms%n", (System.nanoTime() - start) / 1_000_000.0);
+
+        List<CompletableFuture<String>> pending = new ArrayList<>();
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            try {
+                pending.add(printer.render(receipt));
+            } catch (RejectedExecutionException e) {
+                Thread.sleep(1); // 대기열이 가득 차면 잠시 양보
+                i--;
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        report("ESC/POS", count, System.nanoTime() - start);
+        System.out.println("ESC/POS 출력 크기: " + Files.size(device) + " bytes");
+        Files.delete(device);
+    }
+
+    private static int render(ReceiptTemplate template, Receipt receipt) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192); // 디스크 I/O 제외
+        template.write(receipt, out);
+        return out.size();
+    }
+
+    private static void report(String label, int count, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%s: %d건, %.2f ms/건, %.1f receipts/s%n",
+                label, count, seconds * 1000 / count, count / seconds);
+    }
+
+    private static Receipt sampleReceipt(int lineCount) {
+        List<Order> lines = new ArrayList<>();
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new Order(1, "menu-" + i, "메뉴" + (i + 1), 1 + i % 3, 1000 * (i + 5)));
+        }
+        return Receipt.of(1, lines);
+    }
+}
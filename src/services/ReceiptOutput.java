@@ -0,0 +1,12 @@
+package services;
+
+import models.Receipt;
+
+import java.util.concurrent.CompletableFuture;
+
+// 영수증 출력 방식 (PDF 파일 / 감열 프린터)
+// 대기열이 가득 차면 RejectedExecutionException
+public interface ReceiptOutput {
+    // 완료되면 저장/출력 위치를 반환
+    CompletableFuture<String> render(Receipt receipt);
+}
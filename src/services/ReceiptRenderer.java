@@ -0,0 +1,81 @@
+package services;
+
+import models.Receipt;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 영수증 PDF를 백그라운드에서 생성 (EDT를 막지 않음)
+// 대기열이 가득 차면 요청을 거절하여 메모리가 무한히 늘지 않게 함
+public class ReceiptRenderer implements ReceiptOutput {
+    private static final ReceiptRenderer INSTANCE = new ReceiptRenderer();
+    private static final int QUEUE_CAPACITY = 16;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                Thread thread = new Thread(r, "receipt-renderer");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private ReceiptTemplate template; // 렌더링 스레드에서만 사용
+
+    private ReceiptRenderer() {
+    }
+
+    public static ReceiptRenderer getInstance() {
+        return INSTANCE;
+    }
+
+    // 완료되면 저장된 파일 이름을 반환
+    @Override
+    public CompletableFuture<String> render(Receipt receipt) {
+        return CompletableFuture.supplyAsync(() -> writePdf(receipt), executor);
+    }
+
+    // 일일 마감 보고서 (같은 렌더링 스레드에서 캐시된 폰트를 사용), 완료되면 파일 이름을 반환
+    public CompletableFuture<String> renderZReport(LocalDate day) {
+        return CompletableFuture.supplyAsync(() -> writeZReport(day), executor);
+    }
+
+    // 폰트/템플릿을 미리 로드하여 첫 영수증 대기 시간을 줄임
+    public void warmUp() {
+        executor.execute(this::template);
+    }
+
+    private ReceiptTemplate template() {
+        if (template == null) {
+            long start = System.nanoTime();
+            template = ReceiptTemplate.load();
+            System.out.printf("[RECEIPT] 템플릿 로드 %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return template;
+    }
+
+    private String writePdf(Receipt receipt) {
+        // PDF 파일 이름 설정
+        String fileName = "Receipt_Table_" + receipt.getTableNumber() + ".pdf";
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName))) {
+            template().write(receipt, out);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return fileName;
+    }
+
+    private String writeZReport(LocalDate day) {
+        String fileName = "ZReport_" + day + ".pdf";
+        ZReport report = new ZReport(day, SalesLedger.getInstance().getDayFile(day));
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName))) {
+            report.write(template(), out);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return fileName;
+    }
+}
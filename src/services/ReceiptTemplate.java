@@ -0,0 +1,79 @@
+package services;
+
+import models.Receipt;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Paragraph;
+
+import java.io.OutputStream;
+
+// 영수증 PDF 템플릿
+// 한글 폰트 프로그램(파싱 비용이 큼)과 스타일은 한 번만 만들고, 문서마다 항목만 채움
+// PdfFont는 문서에 종속되므로 캐시된 FontProgram으로 문서마다 가볍게 생성 (서브셋 임베딩)
+//
+// -Dpos.receipt.font=경로.ttf 로 폰트 지정, 없으면 font-asian의 한국어 CJK 폰트 사용
+public class ReceiptTemplate {
+    private static final String FONT_PATH = System.getProperty("pos.receipt.font");
+    private static final String CJK_FONT = "HYSMyeongJo-Medium";
+    private static final String CJK_ENCODING = "UniKS-UCS2-H";
+    private static final String SEPARATOR = "----------------------";
+
+    private final FontProgram fontProgram; // null이면 기본 폰트
+    private final String encoding;
+    private final boolean embedded;
+    private final Style titleStyle = new Style().setBold().setFontSize(16);
+    private final Style totalStyle = new Style().setBold();
+
+    private ReceiptTemplate(FontProgram fontProgram, String encoding, boolean embedded) {
+        this.fontProgram = fontProgram;
+        this.encoding = encoding;
+        this.embedded = embedded;
+    }
+
+    public static ReceiptTemplate load() {
+        try {
+            if (FONT_PATH != null) {
+                return new ReceiptTemplate(FontProgramFactory.createFont(FONT_PATH), PdfEncodings.IDENTITY_H, true);
+            }
+            return new ReceiptTemplate(FontProgramFactory.createFont(CJK_FONT), CJK_ENCODING, false);
+        } catch (Exception e) {
+            System.err.println("영수증 폰트 로드 실패, 기본 폰트 사용: " + e.getMessage());
+            return new ReceiptTemplate(null, null, false);
+        }
+    }
+
+    // 캐시된 폰트 프로그램으로 문서 전용 PdfFont 생성 (마감 보고서에서도 사용)
+    void applyFont(Document document) {
+        if (fontProgram != null) {
+            PdfFont font = PdfFontFactory.createFont(fontProgram, encoding, embedded);
+            document.setFont(font);
+        }
+    }
+
+    public void write(Receipt receipt, OutputStream out) {
+        PdfDocument pdf = new PdfDocument(new PdfWriter(out));
+        Document document = new Document(pdf);
+        applyFont(document);
+
+        document.add(new Paragraph("영수증").addStyle(titleStyle));
+        document.add(new Paragraph("Table: " + receipt.getTableNumber()));
+        document.add(new Paragraph(SEPARATOR));
+
+        for (Receipt.Line line : receipt.getLines()) {
+            // 메뉴명 x 수량 = 총 가격
+            document.add(new Paragraph(line.getItemName() + " x " + line.getQuantity() + " = " + line.getAmount() + "원"));
+        }
+
+        document.add(new Paragraph(SEPARATOR));
+        document.add(new Paragraph("총 합계: " + receipt.getTotal() + "원").addStyle(totalStyle));
+        document.close();
+    }
+}
@@ -0,0 +1,82 @@
+package services;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 테이블별 고객 요청 처리 시간 (생성 → 완료), 최근 SAMPLE_SIZE건으로 p50/p95 계산
+public class RequestLatency {
+    private static final int SAMPLE_SIZE = 200;
+
+    private final Map<Integer, Samples> tables = new TreeMap<>();
+    private final Samples all = new Samples();
+
+    public static class Stats {
+        private final int count;
+        private final long p50;
+        private final long p95;
+
+        private Stats(int count, long p50, long p95) {
+            this.count = count;
+            this.p50 = p50;
+            this.p95 = p95;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP95() {
+            return p95;
+        }
+    }
+
+    // 최근 값만 원형 배열에 보관
+    private static class Samples {
+        private final long[] values = new long[SAMPLE_SIZE];
+        private int count;
+        private int next;
+
+        private void add(long value) {
+            values[next] = value;
+            next = (next + 1) % SAMPLE_SIZE;
+            count = Math.min(count + 1, SAMPLE_SIZE);
+        }
+
+        private Stats stats() {
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return new Stats(count, percentile(sorted, 0.50), percentile(sorted, 0.95));
+        }
+
+        // nearest-rank 방식
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+        }
+    }
+
+    public synchronized void record(int tableNumber, long millis) {
+        tables.computeIfAbsent(tableNumber, k -> new Samples()).add(millis);
+        all.add(millis);
+    }
+
+    // 테이블 번호 순
+    public synchronized Map<Integer, Stats> getByTable() {
+        Map<Integer, Stats> result = new TreeMap<>();
+        for (Map.Entry<Integer, Samples> entry : tables.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().stats());
+        }
+        return result;
+    }
+
+    public synchronized Stats getOverall() {
+        return all.stats();
+    }
+}
@@ -0,0 +1,182 @@
+package services;
+
+import models.CustomerRequest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import javax.swing.SwingUtilities;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 고객 요청 대기열
+// - api/request를 5초마다 ETag 조건부 요청으로 폴링 (304면 변경 없음)
+// - 이전 목록과 비교해 추가/삭제된 요청만 리스너에 전달 (EDT에서 호출)
+// - 완료하면 서버에 알리고(POST api/request/complete, Idempotency-Key로 재시도해도 한 번만 처리)
+//   생성부터 완료까지 걸린 시간을 테이블별로 기록
+public class RequestQueue {
+    private static final long POLL_INTERVAL_SECONDS = 5;
+    private static final Duration COMPLETE_TIMEOUT = Duration.ofSeconds(20);
+
+    // EDT에서 호출, 같은 요청이 두 번 추가/삭제될 수 있으므로 id로 확인할 것
+    public interface Listener {
+        void requestsChanged(List<CustomerRequest> added, Set<String> removedIds);
+    }
+
+    private final Gson gson = new Gson();
+    private final Map<String, CustomerRequest> current = new LinkedHashMap<>(); // 대기 중인 요청 (this로 보호)
+    private final Set<String> completing = new HashSet<>(); // 완료를 보냈지만 서버 목록에 아직 남아 있을 수 있는 요청
+    private final RequestLatency latency = new RequestLatency();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "request-poll");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile String etag;
+
+    public void start() {
+        poller.scheduleWithFixedDelay(this::poll, POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized List<CustomerRequest> getRequests() {
+        return new ArrayList<>(current.values());
+    }
+
+    public RequestLatency getLatency() {
+        return latency;
+    }
+
+    private void poll() {
+        try {
+            JsonArray data = ApiClient.getInstance().fetchRequests(etag, response -> {
+                if (response.code() == 304) {
+                    return null;
+                }
+                etag = response.header("ETag");
+                return gson.fromJson(response.body().charStream(), JsonObject.class).getAsJsonArray("data");
+            });
+            if (data != null) {
+                update(data);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("요청사항 조회 실패: " + e.getMessage());
+        }
+    }
+
+    // 서버의 전체 목록(data 배열)으로 교체하고 달라진 부분만 알림
+    public void update(JsonArray data) {
+        long now = System.currentTimeMillis();
+        List<CustomerRequest> added = new ArrayList<>();
+        synchronized (this) {
+            Map<String, CustomerRequest> latest = new LinkedHashMap<>();
+            Set<String> stillListed = new HashSet<>();
+            for (JsonElement element : data == null ? new JsonArray() : data) {
+                JsonObject group = element.getAsJsonObject();
+                int tableNumber = group.get("tableNum").getAsInt();
+                JsonArray items = group.getAsJsonArray("requests");
+                for (int i = 0; items != null && i < items.size(); i++) {
+                    JsonObject item = items.get(i).getAsJsonObject();
+                    String id = item.has("_id") ? item.get("_id").getAsString()
+                            : group.get("_id").getAsString() + "/" + i;
+                    if (completing.contains(id)) {
+                        stillListed.add(id); // 완료 처리 중인 요청은 다시 보이지 않게 함
+                        continue;
+                    }
+                    CustomerRequest previous = current.get(id);
+                    CustomerRequest request = previous != null ? previous
+                            : new CustomerRequest(id, tableNumber, item.get("name").getAsString(),
+                                    createdAt(item, group, now));
+                    latest.put(id, request);
+                    if (previous == null) {
+                        added.add(request);
+                    }
+                }
+            }
+            completing.retainAll(stillListed); // 서버 목록에서 빠진 요청은 더 기억할 필요 없음
+            Set<String> removed = new HashSet<>(current.keySet());
+            removed.removeAll(latest.keySet());
+            current.clear();
+            current.putAll(latest);
+            fire(added, removed);
+        }
+    }
+
+    // 완료 표시 후 서버에 알림, 실패하면 대기열로 되돌림
+    public CompletableFuture<Void> complete(CustomerRequest request) {
+        synchronized (this) {
+            if (current.remove(request.getId()) == null) {
+                return CompletableFuture.completedFuture(null); // 이미 완료됨
+            }
+            completing.add(request.getId());
+            fire(Collections.emptyList(), Collections.singleton(request.getId()));
+        }
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        return TaskScope.async(COMPLETE_TIMEOUT, () -> {
+            ApiClient.getInstance().completeRequest(request.getId(), request.getTableNumber(), idempotencyKey);
+            return (Void) null;
+        }).whenComplete((v, error) -> {
+            if (error == null) {
+                long millis = System.currentTimeMillis() - request.getCreatedAt();
+                latency.record(request.getTableNumber(), millis);
+                System.out.printf("[REQUEST] Table %d '%s' 완료: %d초%n", request.getTableNumber(), request.getName(),
+                        TimeUnit.MILLISECONDS.toSeconds(millis));
+                return;
+            }
+            synchronized (this) {
+                completing.remove(request.getId());
+                current.put(request.getId(), request);
+                fire(Collections.singletonList(request), Collections.emptySet());
+            }
+        });
+    }
+
+    // 잠금 안에서 호출하여 상태가 바뀐 순서대로 EDT에 전달
+    private void fire(List<CustomerRequest> added, Set<String> removedIds) {
+        if (added.isEmpty() && removedIds.isEmpty()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            for (Listener listener : listeners) {
+                listener.requestsChanged(added, removedIds);
+            }
+        });
+    }
+
+    // 요청 항목 또는 묶음의 createdAt, 없으면 처음 받은 시각
+    private static long createdAt(JsonObject item, JsonObject group, long now) {
+        for (JsonObject source : new JsonObject[] { item, group }) {
+            if (source.has("createdAt") && !source.get("createdAt").isJsonNull()) {
+                try {
+                    return Instant.parse(source.get("createdAt").getAsString()).toEpochMilli();
+                } catch (DateTimeParseException e) {
+                    // 다음 후보 사용
+                }
+            }
+        }
+        return now;
+    }
+}
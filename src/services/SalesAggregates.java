@@ -0,0 +1,152 @@
+package services;
+
+import models.MenuCodes;
+import models.SalesListener;
+import models.SalesSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 주문 변경 시마다 매출 합계/메뉴별 수량/상위 N개 메뉴를 갱신 (전체 주문을 다시 훑지 않음)
+// 합계, 메뉴별 카운터, 상위 목록은 모두 lock 안에서 함께 바꾸고 그 자리에서 불변 스냅샷으로 발행하므로
+// 스냅샷의 합계와 상위 메뉴는 항상 같은 시점의 값이고, 읽기는 잠금 없이 O(1)
+public class SalesAggregates implements SalesListener {
+    private static final int TOP_SIZE = 5;
+
+    private final MenuCodes menuCodes;
+    private final Object lock = new Object();
+    private final Map<String, MenuCounter> menus = new HashMap<>(); // lock으로 보호
+    private long totalSales;
+    private long totalQuantity;
+
+    // 상위 메뉴 (수량 내림차순), lock으로 보호
+    private final MenuCounter[] top = new MenuCounter[TOP_SIZE];
+    private int topSize;
+    private volatile SalesSnapshot snapshot = SalesSnapshot.EMPTY;
+
+    private static class MenuCounter {
+        private final String menuId;
+        private final String name;
+        private long quantity;
+        private long sales;
+
+        private MenuCounter(String menuId, String name) {
+            this.menuId = menuId;
+            this.name = name;
+        }
+    }
+
+    public SalesAggregates(MenuCodes menuCodes) {
+        this.menuCodes = menuCodes;
+    }
+
+    @Override
+    public void lineChanged(int menuCode, int price, int delta, Source source) {
+        // 테이블에 남아 있는 주문 전체를 집계하므로 경로와 관계없이 반영
+        // 메뉴 id와 이름이 모두 같은 줄끼리 집계
+        String key = menuCodes.getKey(menuCode);
+        long amount = (long) delta * price;
+        synchronized (lock) {
+            MenuCounter counter = menus.computeIfAbsent(key,
+                    k -> new MenuCounter(menuCodes.getMenuId(menuCode), menuCodes.getName(menuCode)));
+            counter.quantity += delta;
+            counter.sales += amount;
+            totalQuantity += delta;
+            totalSales += amount;
+            updateTop(counter, delta);
+            publish();
+        }
+    }
+
+    public SalesSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // 메뉴 하나의 현재 수량 (key: MenuCodes.getKey)
+    public long getQuantity(String key) {
+        synchronized (lock) {
+            MenuCounter counter = menus.get(key);
+            return counter == null ? 0 : counter.quantity;
+        }
+    }
+
+    // 바뀐 메뉴의 자리만 옮김 (TOP_SIZE가 작으므로 상수 시간)
+    // 상위 목록 끝에 있던 메뉴가 줄어든 경우에만 밖의 메뉴가 더 클 수 있어 다시 계산
+    private void updateTop(MenuCounter counter, int delta) {
+        long quantity = counter.quantity;
+        int index = indexOf(counter);
+        if (index < 0) {
+            if (quantity > 0 && (topSize < TOP_SIZE || quantity > top[topSize - 1].quantity)) {
+                index = topSize < TOP_SIZE ? topSize++ : topSize - 1;
+                top[index] = counter;
+                moveUp(index, quantity);
+            }
+        } else if (delta > 0) {
+            moveUp(index, quantity);
+        } else {
+            index = moveDown(index, quantity);
+            if (quantity <= 0 || (index == topSize - 1 && menus.size() > topSize)) {
+                rebuildTop();
+            }
+        }
+    }
+
+    private int indexOf(MenuCounter counter) {
+        for (int i = 0; i < topSize; i++) {
+            if (top[i] == counter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void moveUp(int index, long quantity) {
+        while (index > 0 && top[index - 1].quantity < quantity) {
+            swap(index, index - 1);
+            index--;
+        }
+    }
+
+    private int moveDown(int index, long quantity) {
+        while (index < topSize - 1 && top[index + 1].quantity > quantity) {
+            swap(index, index + 1);
+            index++;
+        }
+        return index;
+    }
+
+    private void swap(int a, int b) {
+        MenuCounter temp = top[a];
+        top[a] = top[b];
+        top[b] = temp;
+    }
+
+    private void rebuildTop() {
+        topSize = 0;
+        for (MenuCounter counter : menus.values()) {
+            long quantity = counter.quantity;
+            if (quantity <= 0) {
+                continue;
+            }
+            if (topSize < TOP_SIZE) {
+                top[topSize++] = counter;
+                moveUp(topSize - 1, quantity);
+            } else if (quantity > top[TOP_SIZE - 1].quantity) {
+                top[TOP_SIZE - 1] = counter;
+                moveUp(TOP_SIZE - 1, quantity);
+            }
+        }
+    }
+
+    private void publish() {
+        List<SalesSnapshot.MenuStat> topMenus = new ArrayList<>(topSize);
+        for (int i = 0; i < topSize; i++) {
+            MenuCounter counter = top[i];
+            topMenus.add(new SalesSnapshot.MenuStat(counter.menuId, counter.name, counter.quantity,
+                    counter.sales));
+        }
+        snapshot = new SalesSnapshot(totalSales, totalQuantity, topMenus);
+    }
+}
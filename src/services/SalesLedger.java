@@ -0,0 +1,82 @@
+package services;
+
+import models.Receipt;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 영수증을 발행하여 마감된 주문을 날짜별 파일(sales-yyyy-MM-dd.jsonl)에 한 줄씩 추가
+// 일일 마감 보고서(ZReport)가 이 파일을 순서대로 읽음
+public class SalesLedger {
+    private static final SalesLedger INSTANCE = new SalesLedger();
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "sales-ledger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SalesLedger() {
+    }
+
+    public static SalesLedger getInstance() {
+        return INSTANCE;
+    }
+
+    public Path getDayFile(LocalDate day) {
+        return Paths.get("sales-" + day + ".jsonl");
+    }
+
+    public void record(Receipt receipt) {
+        writer.execute(() -> {
+            try {
+                append(receipt);
+            } catch (IOException e) {
+                System.err.println("매출 기록 실패: " + e.getMessage());
+            }
+        });
+    }
+
+    // 이전에 요청된 기록이 모두 파일에 쓰인 뒤 완료
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> {
+        }, writer);
+    }
+
+    // {"table":3,"closedAt":"...","total":18000,"lines":[{"menuId":"...","name":"...","qty":2,"price":9000}]}
+    private void append(Receipt receipt) throws IOException {
+        Path file = getDayFile(receipt.getCreatedAt().toLocalDate());
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            JsonWriter json = new JsonWriter(out);
+            json.beginObject();
+            json.name("table").value(receipt.getTableNumber());
+            json.name("closedAt").value(receipt.getCreatedAt().toString());
+            json.name("total").value(receipt.getTotal());
+            json.name("lines").beginArray();
+            for (Receipt.Line line : receipt.getLines()) {
+                json.beginObject();
+                json.name("menuId").value(line.getMenuId());
+                json.name("name").value(line.getItemName());
+                json.name("qty").value(line.getQuantity());
+                json.name("price").value(line.getPrice());
+                json.endObject();
+            }
+            json.endArray();
+            json.endObject();
+            json.flush();
+            out.write('\n');
+        }
+    }
+}
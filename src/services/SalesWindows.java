@@ -0,0 +1,158 @@
+package services;
+
+import models.MenuCodes;
+import models.SalesListener;
+import models.SalesSnapshot;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 최근 15분 / 1시간 / 오늘 주문된 메뉴와 매출 (주방 준비용)
+// 1분 단위 버킷 60개를 원형으로 돌려 쓰고, 각 구간의 합계를 따로 유지하여
+// 주문 시에는 현재 버킷과 구간 합계만 더하고, 분이 바뀌면 구간을 벗어난 버킷만 빼냄 (다시 훑지 않음)
+// 이 단말의 주문/취소와 푸시/폴링으로 받은 다른 단말·고객 앱의 변경을 집계
+// (취소는 현재 분 버킷에서 빼므로 구간 값은 그 사이의 순 주문량)
+// 결제로 비운 주문과 저널 복구/시작 시 전체 목록으로 들어온 기존 주문은 집계하지 않음
+public class SalesWindows implements SalesListener {
+    private static final long BUCKET_MILLIS = 60_000;
+    private static final int BUCKET_COUNT = 60;
+
+    public enum Period {
+        LAST_15_MINUTES(15), LAST_HOUR(60), TODAY(0);
+
+        private final int minutes;
+
+        Period(int minutes) {
+            this.minutes = minutes;
+        }
+    }
+
+    // 메뉴별 {수량, 매출}과 총 매출
+    private static class Counts {
+        private final Map<String, long[]> menus = new HashMap<>();
+        private long sales;
+        private long quantity;
+
+        // quantity/sales는 음수일 수 있음 (취소)
+        private void add(String key, long quantity, long sales) {
+            long[] counts = menus.computeIfAbsent(key, k -> new long[2]);
+            counts[0] += quantity;
+            counts[1] += sales;
+            if (counts[0] == 0 && counts[1] == 0) {
+                menus.remove(key);
+            }
+            this.quantity += quantity;
+            this.sales += sales;
+        }
+
+        private void subtract(Counts other) {
+            for (Map.Entry<String, long[]> entry : other.menus.entrySet()) {
+                add(entry.getKey(), -entry.getValue()[0], -entry.getValue()[1]);
+            }
+        }
+
+        private void clear() {
+            menus.clear();
+            sales = 0;
+            quantity = 0;
+        }
+    }
+
+    private final Counts[] buckets = new Counts[BUCKET_COUNT];
+    private final Counts last15 = new Counts();
+    private final Counts lastHour = new Counts();
+    private final Counts today = new Counts();
+    private final Map<String, Integer> codes = new HashMap<>(); // 메뉴 키 -> 메뉴 코드 (id/이름 조회용)
+    private final MenuCodes menuCodes;
+    private final Clock clock; // 분/날짜 경계는 모두 이 시계 기준 (SalesWindowsCheck에서 시간을 옮겨 가며 점검)
+    private long currentMinute;
+    private LocalDate currentDay;
+
+    public SalesWindows(MenuCodes menuCodes) {
+        this(menuCodes, Clock.systemDefaultZone());
+    }
+
+    public SalesWindows(MenuCodes menuCodes, Clock clock) {
+        this.menuCodes = menuCodes;
+        this.clock = clock;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new Counts();
+        }
+        long now = clock.millis();
+        currentMinute = now / BUCKET_MILLIS;
+        currentDay = dayOf(now);
+    }
+
+    @Override
+    public void lineChanged(int menuCode, int price, int delta, Source source) {
+        if (source == Source.LOCAL || source == Source.SYNC) {
+            record(menuCode, price, delta);
+        }
+    }
+
+    private synchronized void record(int menuCode, int price, int delta) {
+        advance(clock.millis());
+        String key = menuCodes.getKey(menuCode);
+        codes.putIfAbsent(key, menuCode);
+        long sales = (long) delta * price;
+        buckets[(int) (currentMinute % BUCKET_COUNT)].add(key, delta, sales);
+        last15.add(key, delta, sales);
+        lastHour.add(key, delta, sales);
+        today.add(key, delta, sales);
+    }
+
+    // 구간의 매출과 상위 메뉴 (수량 순)
+    public synchronized SalesSnapshot getWindow(Period period, int topCount) {
+        advance(clock.millis());
+        Counts counts = period == Period.LAST_15_MINUTES ? last15 : period == Period.LAST_HOUR ? lastHour : today;
+        List<SalesSnapshot.MenuStat> stats = new ArrayList<>(counts.menus.size());
+        for (Map.Entry<String, long[]> entry : counts.menus.entrySet()) {
+            long[] value = entry.getValue();
+            if (value[0] <= 0) {
+                continue; // 구간 이전에 주문된 메뉴가 취소된 경우
+            }
+            int code = codes.get(entry.getKey());
+            stats.add(new SalesSnapshot.MenuStat(menuCodes.getMenuId(code), menuCodes.getName(code), value[0],
+                    value[1]));
+        }
+        stats.sort((a, b) -> Long.compare(b.getQuantity(), a.getQuantity()));
+        return new SalesSnapshot(counts.sales, counts.quantity,
+                new ArrayList<>(stats.subList(0, Math.min(topCount, stats.size()))));
+    }
+
+    // 지난 분만큼 버킷을 넘기며 구간을 벗어난 버킷을 구간 합계에서 뺌
+    private void advance(long now) {
+        LocalDate day = dayOf(now);
+        if (day.isAfter(currentDay)) {
+            currentDay = day;
+            today.clear();
+        }
+        long minute = now / BUCKET_MILLIS;
+        if (minute - currentMinute >= BUCKET_COUNT) {
+            // 한 시간 넘게 주문이 없었으면 모두 비움
+            for (Counts bucket : buckets) {
+                bucket.clear();
+            }
+            last15.clear();
+            lastHour.clear();
+            currentMinute = minute;
+            return;
+        }
+        while (currentMinute < minute) {
+            currentMinute++;
+            last15.subtract(buckets[(int) ((currentMinute - Period.LAST_15_MINUTES.minutes) % BUCKET_COUNT)]);
+            Counts reused = buckets[(int) (currentMinute % BUCKET_COUNT)]; // 60분 전 버킷
+            lastHour.subtract(reused);
+            reused.clear();
+        }
+    }
+
+    private LocalDate dayOf(long millis) {
+        return Instant.ofEpochMilli(millis).atZone(clock.getZone()).toLocalDate();
+    }
+}
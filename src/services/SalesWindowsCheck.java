@@ -0,0 +1,189 @@
+package services;
+
+import models.MenuCodes;
+import models.SalesListener.Source;
+import models.SalesSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 시간 구간 매출/인기 메뉴 점검 (시계를 직접 옮겨 가며 실행)
+// - 분이 바뀌면 15분/1시간 구간에서 벗어난 버킷이 빠지는지
+// - 구간 이전 주문의 취소가 구간 상위 메뉴에 음수로 나오지 않고, 주문이 있던 구간에서는 빠지는지
+// - 날짜가 바뀌면 오늘 집계는 새로 시작하고 1시간 구간은 자정을 넘어 이어지는지
+// - 결제로 비운 주문과 복구된 주문은 세지 않는지
+// - 인기 메뉴가 날짜별로 나뉘고 최근 며칠 합계에 취소가 반영되는지
+// 인기 메뉴 집계는 popularity/2001-01-0?.json 에 저장되므로 시작과 끝에 지움
+// 실패하면 종료 코드 1
+//
+// 실행: java services.SalesWindowsCheck
+public class SalesWindowsCheck {
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final LocalDate FIRST_DAY = LocalDate.of(2001, 1, 1);
+    private static final int PRICE = 1000;
+
+    private static int failures;
+
+    // 직접 옮기는 시계
+    private static class ManualClock extends Clock {
+        private Instant now;
+
+        private ManualClock(LocalDateTime start) {
+            now = start.atZone(ZONE).toInstant();
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        deletePopularityFiles();
+        try {
+            windows();
+            popularity();
+        } finally {
+            deletePopularityFiles();
+        }
+
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures);
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static void windows() {
+        MenuCodes menuCodes = new MenuCodes();
+        int coffee = menuCodes.intern("m1", "커피");
+        int tea = menuCodes.intern("m2", "차");
+        int cake = menuCodes.intern("m3", "케이크");
+        ManualClock clock = new ManualClock(FIRST_DAY.atTime(23, 0));
+        SalesWindows windows = new SalesWindows(menuCodes, clock);
+
+        // 23:00 커피 2, 차 3 / 집계하지 않는 변경
+        windows.lineChanged(coffee, PRICE, 2, Source.LOCAL);
+        windows.lineChanged(tea, PRICE, 3, Source.SYNC);
+        windows.lineChanged(cake, PRICE, 5, Source.RESTORE);
+        windows.lineChanged(coffee, PRICE, -2, Source.SETTLED);
+        checkWindow(windows, SalesWindows.Period.LAST_15_MINUTES, 5, "23:00 15분");
+        check(quantityOf(windows, SalesWindows.Period.TODAY, "케이크") == 0, "복구된 주문이 집계됨");
+
+        // 23:14 아직 15분 구간 안
+        clock.advance(Duration.ofMinutes(14));
+        checkWindow(windows, SalesWindows.Period.LAST_15_MINUTES, 5, "23:14 15분");
+
+        // 23:15 23:00 버킷이 15분 구간에서 빠짐
+        clock.advance(Duration.ofMinutes(1));
+        checkWindow(windows, SalesWindows.Period.LAST_15_MINUTES, 0, "23:15 15분");
+        checkWindow(windows, SalesWindows.Period.LAST_HOUR, 5, "23:15 1시간");
+
+        // 23:20 23:00에 주문한 차 1개 취소
+        clock.advance(Duration.ofMinutes(5));
+        windows.lineChanged(tea, PRICE, -1, Source.LOCAL);
+        check(quantityOf(windows, SalesWindows.Period.LAST_15_MINUTES, "차") == 0,
+                "구간 이전 주문의 취소가 15분 상위 메뉴에 나옴");
+        check(quantityOf(windows, SalesWindows.Period.LAST_HOUR, "차") == 2, "1시간 구간에 취소가 반영되지 않음");
+        check(quantityOf(windows, SalesWindows.Period.TODAY, "차") == 2, "오늘 집계에 취소가 반영되지 않음");
+
+        // 다음 날 00:05 케이크 1 (23:00 버킷은 1시간 구간에서 빠지고 23:20 취소만 남음)
+        clock.advance(Duration.ofMinutes(45));
+        windows.lineChanged(cake, PRICE, 1, Source.LOCAL);
+        checkWindow(windows, SalesWindows.Period.TODAY, 1, "00:05 오늘");
+        check(quantityOf(windows, SalesWindows.Period.TODAY, "커피") == 0, "날짜가 바뀌어도 어제 주문이 남음");
+        check(quantityOf(windows, SalesWindows.Period.LAST_HOUR, "차") == 0, "1시간 지난 주문이 남음");
+        check(windows.getWindow(SalesWindows.Period.LAST_HOUR, 10).getTotalQuantity() == 0,
+                "1시간 구간 순 주문량이 다름 (23:20 취소 -1, 00:05 주문 +1)");
+
+        // 두 시간 동안 주문 없음
+        clock.advance(Duration.ofHours(2));
+        checkWindow(windows, SalesWindows.Period.LAST_HOUR, 0, "02:05 1시간");
+        checkWindow(windows, SalesWindows.Period.TODAY, 1, "02:05 오늘");
+    }
+
+    private static void popularity() {
+        MenuCodes menuCodes = new MenuCodes();
+        int coffee = menuCodes.intern("m1", "커피");
+        int tea = menuCodes.intern("m2", "차");
+        int cake = menuCodes.intern("m3", "케이크");
+        ManualClock clock = new ManualClock(FIRST_DAY.atTime(12, 0));
+        PopularityHistory history = new PopularityHistory(menuCodes, clock);
+
+        history.lineChanged(coffee, PRICE, 5, Source.LOCAL);
+        history.lineChanged(tea, PRICE, 2, Source.SYNC);
+        history.lineChanged(cake, PRICE, 9, Source.RESTORE);
+        history.lineChanged(tea, PRICE, -2, Source.SETTLED);
+        history.lineChanged(coffee, PRICE, -1, Source.LOCAL);
+        check(countOf(history.getRecent(1), menuCodes.getKey(coffee)) == 4, "취소가 인기 메뉴에 반영되지 않음");
+        check(countOf(history.getRecent(1), menuCodes.getKey(tea)) == 2, "결제로 비운 주문이 취소로 집계됨");
+        check(countOf(history.getRecent(1), menuCodes.getKey(cake)) == 0, "복구된 주문이 인기 메뉴에 집계됨");
+
+        clock.advance(Duration.ofDays(1));
+        history.lineChanged(tea, PRICE, 3, Source.LOCAL);
+        SpaceSaving today = history.getRecent(1);
+        check(countOf(today, menuCodes.getKey(coffee)) == 0, "날짜가 바뀌어도 어제 주문이 오늘 집계에 남음");
+        check(countOf(today, menuCodes.getKey(tea)) == 3, "오늘 주문 수가 다름");
+        SpaceSaving twoDays = history.getRecent(2);
+        check(countOf(twoDays, menuCodes.getKey(coffee)) == 4 && countOf(twoDays, menuCodes.getKey(tea)) == 5,
+                "이틀 합계가 다름");
+    }
+
+    private static void checkWindow(SalesWindows windows, SalesWindows.Period period, long quantity, String label) {
+        SalesSnapshot snapshot = windows.getWindow(period, 10);
+        check(snapshot.getTotalQuantity() == quantity && snapshot.getTotalSales() == quantity * PRICE,
+                label + " 수량/매출이 다름: " + snapshot.getTotalQuantity() + "개, " + snapshot.getTotalSales() + "원");
+    }
+
+    private static long quantityOf(SalesWindows windows, SalesWindows.Period period, String name) {
+        for (SalesSnapshot.MenuStat stat : windows.getWindow(period, 10).getTopMenus()) {
+            if (stat.getName().equals(name)) {
+                return stat.getQuantity();
+            }
+        }
+        return 0;
+    }
+
+    private static long countOf(SpaceSaving counts, String key) {
+        for (SpaceSaving.Counter counter : counts.getTop(10)) {
+            if (counter.getKey().equals(key)) {
+                return counter.getCount();
+            }
+        }
+        return 0;
+    }
+
+    private static void deletePopularityFiles() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            Files.deleteIfExists(Paths.get("popularity", FIRST_DAY.plusDays(i) + ".json"));
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            failures++;
+            System.out.println("실패: " + message);
+        }
+    }
+}
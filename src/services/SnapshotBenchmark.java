@@ -0,0 +1,121 @@
+package services;
+
+import models.MenuCodes;
+import models.Order;
+import models.OrderLines;
+import models.OrderStore;
+import models.TableSnapshot;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// 테이블 스냅샷 로드 성능 측정: 바이너리 스냅샷(메모리 매핑) vs 같은 상태를 JSON으로 저장해 파싱
+// JSON 쪽은 이전 저널 압축 형식(테이블마다 menuId/name/quantity/price 줄 배열)과 같은 구조
+//
+// 실행: java services.SnapshotBenchmark [테이블 수] [테이블당 줄 수] [반복 횟수]
+public class SnapshotBenchmark {
+    private static final Gson gson = new Gson();
+
+    public static void main(String[] args) throws IOException {
+        int tableCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int lineCount = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        OrderStore source = new OrderStore(new MenuCodes());
+        for (int table = 1; table <= tableCount; table++) {
+            for (int i = 0; i < lineCount; i++) {
+                int menu = (table * 7 + i) % 60;
+                source.addOrder(new Order(table, "65f0c0ffee" + menu, "메뉴" + menu, 1 + i % 3, 1000 * (5 + menu % 20)));
+            }
+        }
+
+        Path binary = Files.createTempFile("floor", ".snapshot");
+        Path json = Files.createTempFile("floor", ".json");
+        FloorSnapshot.write(binary, 1, source);
+        writeJson(json, source);
+        System.out.printf("테이블 %d개 x %d줄: 바이너리 %d bytes, JSON %d bytes%n", tableCount, lineCount,
+                Files.size(binary), Files.size(json));
+
+        // 워밍업 후 측정
+        for (int i = 0; i < iterations / 10; i++) {
+            loadBinary(binary);
+            loadJson(json);
+        }
+        long start = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < iterations; i++) {
+            total += loadBinary(binary);
+        }
+        report("바이너리 (mmap)", iterations, System.nanoTime() - start);
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            total -= loadJson(json);
+        }
+        report("JSON 파싱", iterations, System.nanoTime() - start);
+        if (total != 0) {
+            System.out.println("복구된 합계가 다름!");
+        }
+
+        Files.delete(binary);
+        Files.delete(json);
+    }
+
+    private static long loadBinary(Path path) throws IOException {
+        OrderStore store = new OrderStore(new MenuCodes());
+        FloorSnapshot.read(path, 1, store);
+        return store.getGrandTotal();
+    }
+
+    private static long loadJson(Path path) throws IOException {
+        OrderStore store = new OrderStore(new MenuCodes());
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (JsonElement element : gson.fromJson(reader, JsonArray.class)) {
+                JsonObject table = element.getAsJsonObject();
+                OrderLines lines = new OrderLines();
+                for (JsonElement lineElement : table.getAsJsonArray("lines")) {
+                    JsonObject line = lineElement.getAsJsonObject();
+                    lines.add(store.getMenuCodes().intern(line.get("menuId").getAsString(),
+                            line.get("name").getAsString()), line.get("quantity").getAsInt(),
+                            line.get("price").getAsInt());
+                }
+                store.replaceTable(new TableSnapshot.TableState(table.get("table").getAsInt(), lines, null));
+            }
+        }
+        return store.getGrandTotal();
+    }
+
+    private static void writeJson(Path path, OrderStore store) throws IOException {
+        JsonArray tables = new JsonArray();
+        for (int tableNumber : store.getTableNumbers()) {
+            JsonArray lines = new JsonArray();
+            for (Order order : store.getOrders(tableNumber)) {
+                JsonObject line = new JsonObject();
+                line.addProperty("menuId", order.getMenuId());
+                line.addProperty("name", order.getItemName());
+                line.addProperty("quantity", order.getQuantity());
+                line.addProperty("price", order.getPrice());
+                lines.add(line);
+            }
+            JsonObject table = new JsonObject();
+            table.addProperty("table", tableNumber);
+            table.add("lines", lines);
+            tables.add(table);
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            gson.toJson(tables, writer);
+        }
+    }
+
+    private static void report(String label, int iterations, long nanos) {
+        System.out.printf("%s: %.1f us/회%n", label, nanos / 1000.0 / iterations);
+    }
+}
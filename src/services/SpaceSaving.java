@@ -0,0 +1,179 @@
+package services;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 인기 메뉴 근사 집계 (Space-Saving)
+// 메뉴 수와 관계없이 capacity개만 유지하고, 가득 차면 가장 작은 항목을 새 메뉴로 교체
+// - 추정치는 실제보다 크거나 같고, 차이는 항목별 error 이하 (전체적으로 total / capacity 이하)
+// - 여러 단말/여러 날의 집계를 merge로 합칠 수 있음
+public class SpaceSaving {
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>((a, b) -> a.count != b.count
+            ? Long.compare(a.count, b.count) : a.key.compareTo(b.key));
+    private long total;
+
+    public static class Counter {
+        private final String key;
+        private final String name;
+        private long count;
+        private long error;
+
+        private Counter(String key, String name, long count, long error) {
+            this.key = key;
+            this.name = name;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // 추정 수량 (실제 수량의 상한)
+        public long getCount() {
+            return count;
+        }
+
+        // 과대 추정 가능한 최대치, count - error는 실제 수량의 하한
+        public long getError() {
+            return error;
+        }
+    }
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void add(String key, String name, long quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        total += quantity;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += quantity;
+            byCount.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(key, name, quantity, 0);
+        } else {
+            // 가장 작은 항목을 내보내고 그 수량을 오차로 물려받음
+            Counter evicted = byCount.pollFirst();
+            counters.remove(evicted.key);
+            counter = new Counter(key, name, evicted.count + quantity, evicted.count);
+        }
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    // 취소된 수량을 뺌 (목록에 없는 메뉴는 추정치가 이미 상한이므로 전체 수량만 줄임)
+    public void remove(String key, long quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        total = Math.max(0, total - quantity);
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            return;
+        }
+        byCount.remove(counter);
+        counter.count = Math.max(0, counter.count - quantity);
+        counter.error = Math.min(counter.error, counter.count);
+        byCount.add(counter);
+    }
+
+    // 지금까지 더한 전체 수량
+    public long getTotal() {
+        return total;
+    }
+
+    // 목록에 없는 메뉴의 실제 수량 상한 (가득 차지 않았으면 0)
+    public long getMaxError() {
+        return counters.size() < capacity || byCount.isEmpty() ? 0 : byCount.first().count;
+    }
+
+    // 추정 수량이 큰 순서로 상위 n개
+    public List<Counter> getTop(int n) {
+        List<Counter> top = new ArrayList<>(Math.min(n, counters.size()));
+        for (Counter counter : byCount.descendingSet()) {
+            if (top.size() == n) {
+                break;
+            }
+            top.add(counter);
+        }
+        return top;
+    }
+
+    // 두 집계를 합친 새 집계 (한쪽에만 있는 메뉴는 다른 쪽의 최대 오차를 더함)
+    public SpaceSaving merge(SpaceSaving other) {
+        long thisMin = getMaxError();
+        long otherMin = other.getMaxError();
+        Set<String> keys = new HashSet<>(counters.keySet());
+        keys.addAll(other.counters.keySet());
+
+        List<Counter> merged = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Counter a = counters.get(key);
+            Counter b = other.counters.get(key);
+            long count = (a != null ? a.count : thisMin) + (b != null ? b.count : otherMin);
+            long error = (a != null ? a.error : thisMin) + (b != null ? b.error : otherMin);
+            merged.add(new Counter(key, a != null ? a.name : b.name, count, error));
+        }
+        merged.sort((x, y) -> Long.compare(y.count, x.count));
+
+        SpaceSaving result = new SpaceSaving(Math.max(capacity, other.capacity));
+        for (Counter counter : merged.subList(0, Math.min(result.capacity, merged.size()))) {
+            result.counters.put(counter.key, counter);
+            result.byCount.add(counter);
+        }
+        result.total = total + other.total;
+        return result;
+    }
+
+    public JsonObject toJson() {
+        JsonArray array = new JsonArray();
+        for (Counter counter : counters.values()) {
+            JsonObject item = new JsonObject();
+            item.addProperty("key", counter.key);
+            item.addProperty("name", counter.name);
+            item.addProperty("count", counter.count);
+            item.addProperty("error", counter.error);
+            array.add(item);
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("capacity", capacity);
+        json.addProperty("total", total);
+        json.add("counters", array);
+        return json;
+    }
+
+    public static SpaceSaving fromJson(JsonObject json) {
+        SpaceSaving summary = new SpaceSaving(json.get("capacity").getAsInt());
+        summary.total = json.get("total").getAsLong();
+        for (JsonElement element : json.getAsJsonArray("counters")) {
+            JsonObject item = element.getAsJsonObject();
+            Counter counter = new Counter(item.get("key").getAsString(), item.get("name").getAsString(),
+                    item.get("count").getAsLong(), item.get("error").getAsLong());
+            summary.counters.put(counter.key, counter);
+            summary.byCount.add(counter);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,87 @@
+package services;
+
+import models.Menu;
+import models.TableSnapshot;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 시작 시 백엔드 조회(테이블/메뉴/요청사항)를 화면 구성보다 먼저, 한꺼번에 병렬로 시작
+// 화면은 로컬 상태(저널 복구, 메뉴 스냅샷)로 먼저 그리고 각 결과는 도착하는 대로 반영 (서로 기다리지 않음)
+// JVM 시작부터 화면 표시 / 조작 가능(화면 + 메뉴) / 동기화 완료까지 걸린 시간을 [STARTUP]으로 기록
+public class StartupLoader {
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Gson gson = new Gson();
+    private final CompletableFuture<TableSnapshot> tables;
+    private final CompletableFuture<Menu> menu;
+    private final CompletableFuture<JsonArray> requests;
+    private final CompletableFuture<Void> floorPainted = new CompletableFuture<>();
+
+    // 메뉴 스냅샷을 로드한 뒤 생성 (메뉴는 ETag로 재검증)
+    public StartupLoader(TableWatermarks watermarks) {
+        ApiClient api = ApiClient.getInstance();
+        tables = logArrival("테이블", TaskScope.async(FETCH_TIMEOUT, () -> api.fetchTables(null,
+                response -> TableDecoder.decode(response.body().charStream(), watermarks))));
+        menu = logArrival("메뉴", MenuCatalog.getInstance().refresh());
+        requests = logArrival("요청사항", TaskScope.async(FETCH_TIMEOUT, () -> api.fetchRequests(null,
+                response -> gson.fromJson(response.body().charStream(), JsonObject.class).getAsJsonArray("data"))));
+
+        // 캐시된 메뉴가 있으면 화면이 뜨는 즉시 조작 가능, 없으면 메뉴가 도착해야 테이블 화면을 열 수 있음
+        CompletableFuture<?> menuReady = MenuCatalog.getInstance().getCurrent() != null
+                ? CompletableFuture.completedFuture(null)
+                : menu;
+        CompletableFuture.allOf(floorPainted, menuReady).whenComplete(
+                (v, error) -> log(error == null ? "조작 가능" : "조작 가능 (메뉴 없음, 테이블 화면 사용 불가)"));
+
+        AtomicInteger remaining = new AtomicInteger(3);
+        for (CompletableFuture<?> fetch : new CompletableFuture<?>[] { tables, menu, requests }) {
+            fetch.whenComplete((v, error) -> {
+                if (remaining.decrementAndGet() == 0) {
+                    log("동기화 완료");
+                }
+            });
+        }
+    }
+
+    public CompletableFuture<TableSnapshot> getTables() {
+        return tables;
+    }
+
+    public CompletableFuture<Menu> getMenu() {
+        return menu;
+    }
+
+    public CompletableFuture<JsonArray> getRequests() {
+        return requests;
+    }
+
+    // 로컬 상태로 첫 화면을 그린 직후 EDT에서 호출
+    public void floorPainted(int restoredTables) {
+        log("화면 표시 (복구된 테이블 " + restoredTables + "개)");
+        floorPainted.complete(null);
+    }
+
+    private static <T> CompletableFuture<T> logArrival(String name, CompletableFuture<T> fetch) {
+        fetch.whenComplete((value, error) -> {
+            if (error == null) {
+                log(name + " 도착");
+            } else {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                log(name + " 실패: " + cause.getMessage());
+            }
+        });
+        return fetch;
+    }
+
+    private static void log(String event) {
+        System.out.printf("[STARTUP] %s: JVM 시작 후 %d ms%n", event,
+                ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
@@ -0,0 +1,222 @@
+package services;
+
+import models.MenuCodes;
+import models.OrderLines;
+import models.TableSnapshot;
+import models.TableSnapshot.TableState;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// api/table 응답을 JsonReader로 스트리밍 디코딩 (EDT 밖에서 호출)
+// 사용하지 않는 필드(orderid, _id, createdAt 등)는 트리로 만들지 않고 건너뜀
+// 푸시 이벤트는 같은 형태에 "type": "delta", "sentAt"이 추가됨
+// 서버는 테이블마다 lastOrder를 updatedAt보다 먼저 보내므로(table.json 참고) 순서와 관계없이 처리
+public final class TableDecoder {
+    private TableDecoder() {
+    }
+
+    // 아직 메뉴 코드로 바꾸지 않은 주문 줄 (updatedAt을 읽기 전에 나온 lastOrder)
+    private static final class RawLine {
+        private final String menuId;
+        private final String name;
+        private final int quantity;
+        private final int price;
+
+        private RawLine(String menuId, String name, int quantity, int price) {
+            this.menuId = menuId;
+            this.name = name;
+            this.quantity = quantity;
+            this.price = price;
+        }
+    }
+
+    public static TableSnapshot decode(Reader source) throws IOException {
+        return decode(source, null, false);
+    }
+
+    // 전체 목록 응답 (updatedSince 없이 요청한 경우)
+    public static TableSnapshot decode(Reader source, TableWatermarks watermarks) throws IOException {
+        return decode(source, watermarks, false);
+    }
+
+    // watermarks가 있으면 updatedAt이 바뀌지 않은 테이블은 주문을 메뉴 코드로 바꾸지 않고 제외
+    // 첫 동기화(watermarks가 비어 있음)가 아니면 변경된 테이블만 담은 partial 스냅샷을 반환
+    // filtered: updatedSince로 요청한 응답, 서버가 변경된 테이블만 보내므로 빠진 테이블을 지우지 않음
+    public static TableSnapshot decode(Reader source, TableWatermarks watermarks, boolean filtered)
+            throws IOException {
+        Map<Integer, TableState> tables = new LinkedHashMap<>();
+        Set<Integer> seenTables = new HashSet<>();
+        boolean firstSync = watermarks == null || watermarks.isEmpty();
+        boolean partial = filtered;
+        long sentAt = 0;
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("type") && reader.peek() == JsonToken.STRING) {
+                    partial |= reader.nextString().equals("delta");
+                } else if (name.equals("sentAt") && reader.peek() == JsonToken.NUMBER) {
+                    sentAt = reader.nextLong();
+                } else if (name.equals("tables") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        TableState table = readTable(reader, watermarks, seenTables);
+                        if (table != null) {
+                            tables.put(table.getTableNumber(), table);
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        if (watermarks == null) {
+            return new TableSnapshot(tables, partial, sentAt);
+        }
+        for (TableState table : tables.values()) {
+            watermarks.advance(table.getTableNumber(), table.getUpdatedAt());
+        }
+        if (firstSync && !partial) {
+            return new TableSnapshot(tables, false, sentAt);
+        }
+        if (!partial) {
+            // 전체 목록인데 빠진 테이블은 서버에서 정리된 것이므로 비움
+            for (int tableNumber : watermarks.getTableNumbers()) {
+                if (!seenTables.contains(tableNumber)) {
+                    tables.put(tableNumber, new TableState(tableNumber, new OrderLines(0), null));
+                    watermarks.remove(tableNumber);
+                }
+            }
+        }
+        return new TableSnapshot(tables, true, sentAt);
+    }
+
+    private static TableState readTable(JsonReader reader, TableWatermarks watermarks, Set<Integer> seenTables)
+            throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            System.out.println("Invalid table data: not a JSON object.");
+            reader.skipValue();
+            return null;
+        }
+
+        int tableNum = -1; // 테이블 번호 기본값
+        String updatedAt = null;
+        List<RawLine> orders = null;
+        boolean skippedOrders = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "tableNum":
+                    tableNum = reader.nextInt();
+                    break;
+                case "updatedAt":
+                    updatedAt = reader.nextString();
+                    break;
+                case "lastOrder":
+                    if (watermarks != null && tableNum != -1 && updatedAt != null
+                            && !watermarks.isChanged(tableNum, updatedAt)) {
+                        reader.skipValue(); // updatedAt이 먼저 왔고 변경이 없으면 주문을 읽지 않음
+                        skippedOrders = true;
+                    } else if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        orders = readOrders(reader);
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        seenTables.add(tableNum);
+        if (skippedOrders || (watermarks != null && !watermarks.isChanged(tableNum, updatedAt))) {
+            return null; // 변경 없는 테이블은 메뉴 코드로 바꾸지 않고 버림
+        }
+        if (orders == null) {
+            System.out.println("Invalid table data: 'lastOrder' is missing or not a JSON array.");
+            return null;
+        }
+        return new TableState(tableNum, toLines(orders), updatedAt);
+    }
+
+    // 메뉴 id/이름은 카탈로그의 코드로 바꿔 저장 (줄마다 문자열을 들고 있지 않음)
+    private static OrderLines toLines(List<RawLine> raw) {
+        MenuCodes menuCodes = MenuCatalog.getInstance().getMenuCodes();
+        OrderLines orders = new OrderLines(raw.size());
+        for (RawLine line : raw) {
+            orders.add(menuCodes.intern(line.menuId, line.name), line.quantity, line.price);
+        }
+        return orders;
+    }
+
+    private static List<RawLine> readOrders(JsonReader reader) throws IOException {
+        List<RawLine> orders = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                System.out.println("Invalid order data: not a JSON object.");
+                reader.skipValue();
+                continue;
+            }
+
+            String menuId = null;
+            String itemName = null;
+            Integer quantity = null;
+            Integer price = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "menuId":
+                        menuId = reader.nextString();
+                        break;
+                    case "name":
+                        itemName = reader.nextString();
+                        break;
+                    case "quantity":
+                        quantity = reader.nextInt();
+                        break;
+                    case "price":
+                        price = reader.nextInt();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (itemName != null && quantity != null && price != null) {
+                orders.add(new RawLine(menuId, itemName, quantity, price));
+            } else {
+                System.out.println("Invalid order object: missing required fields.");
+            }
+        }
+        reader.endArray();
+        return orders;
+    }
+}
@@ -0,0 +1,163 @@
+package services;
+
+import models.TableSnapshot;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import okhttp3.*;
+
+// 테이블 변경 이벤트 수신 채널
+// WebSocket(api/table/stream)으로 변경된 테이블만 받고, 연결이 안 되면 api/table 폴링으로 대체
+public class TableSyncChannel {
+    private static final long POLL_INTERVAL_SECONDS = 5;
+    private static final long RECONNECT_DELAY_SECONDS = 30;
+    private static final int STATS_EVERY = 100; // 이벤트 N개마다 지연 시간 출력
+
+    private final TableWatermarks watermarks;
+    private final Consumer<TableSnapshot> onUpdate; // 백그라운드 스레드에서 호출됨
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "table-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private WebSocket webSocket;
+    private ScheduledFuture<?> pollTask;
+    private boolean stopped;
+
+    private long eventCount;
+    private long latencySum;
+    private long latencyMax;
+    private long statsStart = System.nanoTime();
+
+    public TableSyncChannel(TableWatermarks watermarks, Consumer<TableSnapshot> onUpdate) {
+        this.watermarks = watermarks;
+        this.onUpdate = onUpdate;
+    }
+
+    public synchronized void start() {
+        stopped = false;
+        connect();
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+        stopPolling();
+        if (webSocket != null) {
+            webSocket.close(1000, "stop");
+            webSocket = null;
+        }
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void connect() {
+        if (stopped) {
+            return;
+        }
+        webSocket = ApiClient.getInstance().openTableStream(new WebSocketListener() {
+            @Override
+            public void onOpen(WebSocket socket, Response response) {
+                System.out.println("테이블 스트림 연결됨");
+                stopPolling();
+            }
+
+            @Override
+            public void onMessage(WebSocket socket, String text) {
+                try {
+                    deliver(TableDecoder.decode(new StringReader(text), watermarks));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("테이블 이벤트 파싱 실패: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void onClosed(WebSocket socket, int code, String reason) {
+                fallBack("연결 종료 (" + code + ")");
+            }
+
+            @Override
+            public void onFailure(WebSocket socket, Throwable t, Response response) {
+                fallBack(t.getMessage());
+            }
+        });
+    }
+
+    // 폴링으로 전환하고 일정 시간 후 WebSocket 재연결 시도
+    private synchronized void fallBack(String reason) {
+        if (stopped) {
+            return;
+        }
+        System.out.println("테이블 스트림 사용 불가, 폴링으로 전환: " + reason);
+        webSocket = null;
+        startPolling();
+        scheduler.schedule(this::connect, RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private synchronized void startPolling() {
+        if (pollTask == null) {
+            pollTask = scheduler.scheduleWithFixedDelay(this::poll, 0, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private synchronized void stopPolling() {
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
+    }
+
+    private void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return; // 이전 요청이 아직 진행 중
+        }
+        String since = watermarks.getLatest(); // 있으면 변경된 테이블만 오므로 빠진 테이블을 지우지 않음
+        ApiClient.getInstance().getTables(since, new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                polling.set(false);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                try (response) {
+                    if (response.isSuccessful()) {
+                        deliver(TableDecoder.decode(response.body().charStream(), watermarks, since != null));
+                    }
+                } finally {
+                    polling.set(false);
+                }
+            }
+        });
+    }
+
+    private void deliver(TableSnapshot snapshot) {
+        recordLatency(snapshot);
+        if (snapshot.isPartial() && snapshot.getTables().isEmpty()) {
+            return; // 변경된 테이블이 없으면 UI 작업 생략
+        }
+        onUpdate.accept(snapshot);
+    }
+
+    private synchronized void recordLatency(TableSnapshot snapshot) {
+        if (snapshot.getSentAt() <= 0) {
+            return;
+        }
+        long latency = System.currentTimeMillis() - snapshot.getSentAt();
+        eventCount++;
+        latencySum += latency;
+        latencyMax = Math.max(latencyMax, latency);
+
+        if (eventCount % STATS_EVERY == 0) {
+            double seconds = (System.nanoTime() - statsStart) / 1_000_000_000.0;
+            System.out.printf("[SYNC] 이벤트 %d개, 평균 지연 %.1f ms, 최대 %d ms, %.1f events/s%n",
+                    eventCount, (double) latencySum / eventCount, latencyMax, STATS_EVERY / seconds);
+            statsStart = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package services;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 테이블별 마지막으로 반영한 updatedAt (변경된 테이블만 동기화하기 위한 기준값)
+public class TableWatermarks {
+    private final Map<Integer, String> updatedAt = new ConcurrentHashMap<>();
+
+    public boolean isEmpty() {
+        return updatedAt.isEmpty();
+    }
+
+    // updatedAt이 없으면 비교할 수 없으므로 변경된 것으로 처리
+    public boolean isChanged(int tableNumber, String tableUpdatedAt) {
+        String previous = updatedAt.get(tableNumber);
+        return previous == null || tableUpdatedAt == null || compare(tableUpdatedAt, previous) > 0;
+    }
+
+    public void advance(int tableNumber, String tableUpdatedAt) {
+        if (tableUpdatedAt != null) {
+            updatedAt.merge(tableNumber, tableUpdatedAt, (a, b) -> compare(a, b) >= 0 ? a : b);
+        }
+    }
+
+    public void remove(int tableNumber) {
+        updatedAt.remove(tableNumber);
+    }
+
+    public Set<Integer> getTableNumbers() {
+        return new HashSet<>(updatedAt.keySet());
+    }
+
+    // 서버에 보낼 기준 시각 (가장 최근 updatedAt)
+    public String getLatest() {
+        String latest = null;
+        for (String value : updatedAt.values()) {
+            if (latest == null || compare(value, latest) > 0) {
+                latest = value;
+            }
+        }
+        return latest;
+    }
+
+    private static int compare(String a, String b) {
+        try {
+            return Instant.parse(a).compareTo(Instant.parse(b));
+        } catch (DateTimeParseException e) {
+            return a.compareTo(b);
+        }
+    }
+}
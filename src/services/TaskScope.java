@@ -0,0 +1,285 @@
+package services;
+
+import okhttp3.Call;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 백엔드 호출을 묶어서 실행하는 작업 범위 (structured concurrency 방식)
+// - fork한 작업은 가상 스레드에서 blocking 호출로 실행 (Java 21 미만이면 크기가 정해진 데몬 스레드 풀)
+// - 작업 하나가 실패하거나 시간 제한을 넘기면 나머지 작업을 모두 취소 (진행 중인 HTTP 호출도 끊음)
+// - 작업 안에서 만든 범위(TaskScope.async 포함)는 그 작업의 범위에 속하여 바깥 범위가 취소되면 함께 취소됨
+// - join은 모든 작업이 끝날 때까지 기다린 뒤 첫 번째 실패를 던지고, close는 남은 작업을 취소하고 끝날 때까지 기다림
+// 화면처럼 수명이 긴 범위는 닫힐 때 cancel()로 진행 중인 작업만 취소 (결과 콜백도 호출되지 않음)
+//
+// try (TaskScope scope = new TaskScope(Duration.ofSeconds(10))) {
+//     CompletableFuture<A> a = scope.fork(() -> ...);
+//     CompletableFuture<B> b = scope.fork(() -> ...);
+//     scope.join();
+//     return combine(a.join(), b.join());
+// }
+// 동작 점검: java services.TaskScopeCheck
+public class TaskScope implements AutoCloseable {
+    private static final ExecutorService EXECUTOR = newExecutor();
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "task-scope-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final int FALLBACK_THREADS = 32; // 가상 스레드가 없을 때 동시에 blocking 호출할 수 있는 작업 수
+    private static final ThreadLocal<TaskScope> CURRENT = new ThreadLocal<>();
+
+    private final Object lock = new Object();
+    private final List<Task<?>> tasks = new ArrayList<>(); // 아직 끝나지 않은 작업
+    private final Set<Call> calls = new HashSet<>(); // 작업 스레드에서 진행 중인 HTTP 호출
+    private final Set<TaskScope> children = new HashSet<>(); // 이 범위의 작업 안에서 만든 범위
+    private final TaskScope parent; // 이 범위를 만든 작업의 범위 (작업 밖에서 만들었으면 null)
+    private final ScheduledFuture<?> deadline;
+    private boolean shutdown;
+    private Throwable failure; // 첫 번째 실패 (시간 초과 포함)
+
+    public TaskScope() {
+        parent = adoptedBy(current());
+        deadline = null;
+    }
+
+    // 범위 전체의 시간 제한 (넘기면 TimeoutException으로 실패)
+    public TaskScope(Duration timeout) {
+        parent = adoptedBy(current());
+        deadline = isCancelled() ? null : TIMER.schedule(() -> fail(new TimeoutException(timeout.toMillis() + "ms 안에 끝나지 않음")),
+                timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // 가상 스레드가 있으면 작업마다 가상 스레드, 없으면 FALLBACK_THREADS개까지 늘어나는 데몬 스레드 풀
+    // (넘치는 작업은 대기열에서 기다리고, 쉬는 스레드는 1분 뒤 정리)
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(FALLBACK_THREADS, FALLBACK_THREADS, 60,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "task-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    // 바깥 범위에 자식으로 등록 (바깥 범위가 이미 취소됐으면 생성과 동시에 취소)
+    private TaskScope adoptedBy(TaskScope owner) {
+        if (owner == null) {
+            return null;
+        }
+        boolean cancelled;
+        synchronized (owner.lock) {
+            cancelled = owner.shutdown;
+            if (!cancelled) {
+                owner.children.add(this);
+            }
+        }
+        if (cancelled) {
+            shutdown(owner.reason());
+        }
+        return owner;
+    }
+
+    // 범위 하나에서 작업 하나만 실행 (UI 이벤트 등에서 바로 쓰는 용도)
+    public static <T> CompletableFuture<T> async(Duration timeout, Callable<T> body) {
+        TaskScope scope = new TaskScope(timeout);
+        CompletableFuture<T> result = scope.fork(body);
+        result.whenComplete((value, error) -> scope.cancel()); // 끝나면 타이머 정리
+        return result;
+    }
+
+    public <T> CompletableFuture<T> fork(Callable<T> body) {
+        Task<T> task = new Task<>(body);
+        synchronized (lock) {
+            if (shutdown) {
+                task.result.completeExceptionally(reason());
+                return task.result;
+            }
+            tasks.add(task);
+        }
+        EXECUTOR.execute(task);
+        return task.result;
+    }
+
+    // 모든 작업이 끝날 때까지 대기, 실패한 작업이 있으면 첫 번째 실패를 던짐
+    public void join() throws InterruptedException, ExecutionException, TimeoutException {
+        synchronized (lock) {
+            while (!tasks.isEmpty()) {
+                lock.wait();
+            }
+            if (failure instanceof TimeoutException) {
+                throw (TimeoutException) new TimeoutException(failure.getMessage()).initCause(failure);
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            if (shutdown) {
+                throw new CancellationException("작업 범위가 취소됨");
+            }
+        }
+    }
+
+    // 남은 작업 취소 (기다리지 않음)
+    public void cancel() {
+        shutdown(new CancellationException("작업 범위가 취소됨"));
+    }
+
+    public boolean isCancelled() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    // 남은 작업을 취소하고 모두 끝날 때까지 대기
+    @Override
+    public void close() {
+        cancel();
+        boolean interrupted = false;
+        synchronized (lock) {
+            while (!tasks.isEmpty()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 현재 스레드가 실행 중인 작업의 범위 (범위 밖이면 null)
+    static TaskScope current() {
+        return CURRENT.get();
+    }
+
+    // 범위가 취소되면 함께 취소할 HTTP 호출 등록
+    void track(Call call) {
+        synchronized (lock) {
+            if (shutdown) {
+                call.cancel();
+            } else {
+                calls.add(call);
+            }
+        }
+    }
+
+    void untrack(Call call) {
+        synchronized (lock) {
+            calls.remove(call);
+        }
+    }
+
+    // 이미 취소된 뒤의 실패(끊긴 호출, 인터럽트)는 원인이 아니므로 기록하지 않음
+    private void fail(Throwable error) {
+        synchronized (lock) {
+            if (shutdown) {
+                return;
+            }
+            failure = error;
+        }
+        shutdown(error);
+    }
+
+    // 자식 범위는 잠금 밖에서 취소 (자식이 바깥 범위 잠금을 잡으므로 순서를 한 방향으로 유지)
+    private void shutdown(Throwable reason) {
+        List<TaskScope> cancelledChildren;
+        synchronized (lock) {
+            if (!shutdown) {
+                shutdown = true;
+                if (deadline != null) {
+                    deadline.cancel(false);
+                }
+            }
+            cancelledChildren = new ArrayList<>(children);
+            children.clear();
+            for (Task<?> task : tasks) {
+                if (!task.result.isDone()) {
+                    task.result.completeExceptionally(failure != null ? failure : reason);
+                    if (task.thread != null) {
+                        task.thread.interrupt();
+                    }
+                }
+            }
+            for (Call call : calls) {
+                call.cancel();
+            }
+            calls.clear();
+        }
+        for (TaskScope child : cancelledChildren) {
+            child.shutdown(failure != null ? failure : reason);
+        }
+        if (parent != null) {
+            synchronized (parent.lock) {
+                parent.children.remove(this); // 끝난 범위는 더 취소할 필요 없음
+            }
+        }
+    }
+
+    private Throwable reason() {
+        return failure != null ? failure : new CancellationException("작업 범위가 취소됨");
+    }
+
+    private class Task<T> implements Runnable {
+        private final Callable<T> body;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private Thread thread; // 실행 중인 스레드 (lock으로 보호)
+
+        private Task(Callable<T> body) {
+            this.body = body;
+        }
+
+        @Override
+        public void run() {
+            synchronized (lock) {
+                if (result.isDone()) { // 시작 전에 취소됨
+                    finish();
+                    return;
+                }
+                thread = Thread.currentThread();
+            }
+            CURRENT.set(TaskScope.this);
+            try {
+                result.complete(body.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                fail(e);
+            } finally {
+                CURRENT.remove();
+                synchronized (lock) {
+                    thread = null;
+                    finish();
+                }
+                Thread.interrupted(); // 풀 스레드를 재사용할 때 남은 취소 신호 제거
+            }
+        }
+
+        private void finish() {
+            tasks.remove(this);
+            lock.notifyAll();
+        }
+    }
+}
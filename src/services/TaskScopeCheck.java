@@ -0,0 +1,181 @@
+package services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// TaskScope 점검
+// - fork한 작업이 동시에 실행되는지 (fan-out)
+// - 작업 하나가 실패하면 나머지 작업이 인터럽트되고 join이 첫 번째 실패를 던지는지
+// - 범위 시간 제한이 지나면 join이 TimeoutException을 던지는지
+// - 작업 안에서 만든 범위(TaskScope.async)가 바깥 범위와 함께 취소되는지, 이미 취소된 범위 안에서 만들면 바로 취소되는지
+// - close가 남은 작업이 끝날 때까지 기다리는지
+// 실패하면 종료 코드 1
+//
+// 실행: java services.TaskScopeCheck
+public class TaskScopeCheck {
+    private static final long TASK_MILLIS = 200;
+    private static final int FAN_OUT = 16;
+
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        fanOut();
+        failureCancelsSiblings();
+        deadline();
+        nestedCancellation();
+        bornCancelled();
+        closeWaits();
+
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures);
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static void fanOut() throws Exception {
+        long start = System.nanoTime();
+        try (TaskScope scope = new TaskScope(Duration.ofSeconds(10))) {
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < FAN_OUT; i++) {
+                int value = i;
+                results.add(scope.fork(() -> {
+                    Thread.sleep(TASK_MILLIS);
+                    return value;
+                }));
+            }
+            scope.join();
+            int sum = 0;
+            for (CompletableFuture<Integer> result : results) {
+                sum += result.join();
+            }
+            check(sum == FAN_OUT * (FAN_OUT - 1) / 2, "fan-out 결과 합계가 다름: " + sum);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        check(millis < TASK_MILLIS * 4, "fork한 작업이 동시에 실행되지 않음: " + millis + " ms");
+    }
+
+    private static void failureCancelsSiblings() throws Exception {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        long start = System.nanoTime();
+        try (TaskScope scope = new TaskScope()) {
+            CompletableFuture<String> slow = scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw e;
+                }
+                return "slow";
+            });
+            scope.fork(() -> {
+                Thread.sleep(TASK_MILLIS);
+                throw new IllegalStateException("boom");
+            });
+            try {
+                scope.join();
+                check(false, "실패한 작업이 있는데 join이 정상 종료됨");
+            } catch (ExecutionException e) {
+                check(e.getCause() instanceof IllegalStateException, "첫 번째 실패가 아님: " + e.getCause());
+            }
+            check(slow.isCompletedExceptionally(), "실패 후 나머지 작업의 결과가 취소되지 않음");
+        }
+        check(interrupted.get(), "실패 후 나머지 작업이 인터럽트되지 않음");
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        check(millis < 2_000, "실패 후 나머지 작업이 바로 끝나지 않음: " + millis + " ms");
+    }
+
+    private static void deadline() throws Exception {
+        long start = System.nanoTime();
+        try (TaskScope scope = new TaskScope(Duration.ofMillis(TASK_MILLIS))) {
+            scope.fork(() -> {
+                Thread.sleep(10_000);
+                return null;
+            });
+            try {
+                scope.join();
+                check(false, "시간 제한이 지났는데 join이 정상 종료됨");
+            } catch (TimeoutException e) {
+                // 기대한 결과
+            }
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        check(millis >= TASK_MILLIS && millis < TASK_MILLIS + 2_000, "시간 제한 시점이 다름: " + millis + " ms");
+    }
+
+    private static void nestedCancellation() throws Exception {
+        CompletableFuture<CompletableFuture<String>> inner = new CompletableFuture<>();
+        TaskScope outer = new TaskScope();
+        outer.fork(() -> {
+            CompletableFuture<String> child = TaskScope.async(Duration.ofSeconds(30), () -> {
+                Thread.sleep(10_000);
+                return "child";
+            });
+            inner.complete(child);
+            return child.get();
+        });
+        CompletableFuture<String> child = inner.get(1, TimeUnit.SECONDS);
+        outer.cancel();
+        try {
+            child.get(1, TimeUnit.SECONDS);
+            check(false, "안쪽 범위의 작업이 정상 종료됨");
+        } catch (CancellationException | ExecutionException e) {
+            // 기대한 결과
+        } catch (TimeoutException e) {
+            check(false, "바깥 범위를 취소해도 안쪽 범위가 취소되지 않음");
+        }
+        outer.close();
+    }
+
+    private static void bornCancelled() throws Exception {
+        CompletableFuture<CompletableFuture<String>> inner = new CompletableFuture<>();
+        TaskScope outer = new TaskScope();
+        outer.fork(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                // 취소된 범위 안에서 새 범위를 만듦
+            }
+            inner.complete(TaskScope.async(Duration.ofSeconds(30), () -> "late"));
+            return null;
+        });
+        Thread.sleep(50);
+        outer.cancel();
+        CompletableFuture<String> late = inner.get(1, TimeUnit.SECONDS);
+        check(late.isCompletedExceptionally(), "취소된 범위 안에서 만든 범위가 취소되지 않음");
+        outer.close();
+    }
+
+    private static void closeWaits() {
+        AtomicBoolean finished = new AtomicBoolean();
+        try (TaskScope scope = new TaskScope()) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.sleep(TASK_MILLIS); // 정리 작업
+                    finished.set(true);
+                }
+                return null;
+            });
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        check(finished.get(), "close가 남은 작업이 끝나기 전에 반환됨");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            failures++;
+            System.out.println("실패: " + message);
+        }
+    }
+}
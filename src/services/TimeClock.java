@@ -0,0 +1,454 @@
+package services;
+
+import models.Employee;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+
+import javax.swing.SwingUtilities;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 직원 출퇴근 기록부 (time-clock.jsonl)
+// - 출퇴근은 기록부 파일에 추가(force)한 뒤에 메모리 상태에 반영하고 반환 (저장하지 못하면 IllegalStateException)
+// - 직원별 근무 기록과 근무 중인 직원(이름 -> 진행 중인 근무)을 색인, 시작 시 파일을 재생해 복구
+// - 여러 명이 연달아 출퇴근하면 COALESCE_MILLIS 동안 모아 한 번의 일괄 요청(api/time-records/batch)으로 전송
+//   서버가 일괄 요청을 지원하지 않으면(404/405) 기존 clock-in/clock-out 요청을 순서대로 보냄
+// - 출퇴근마다 고유 id를 Idempotency-Key로 쓰므로 재전송해도 서버에는 한 번만 기록됨
+// - 실패하면 지수 백오프로 재시도, 종료되어도 미전송 기록은 다음 시작 때 다시 전송
+//
+// 파일 형식 (한 줄에 JSON 하나):
+//   {"punch":"<id>","shift":"<근무 id>","name":"...","action":"clock-in","checkIn":"...","at":"..."}
+//   {"synced":["<id>",...]}
+// 시작 시 전송이 끝난 지난 근무는 빼고 다시 씀 (지난 기록 조회는 서버와 TimeRecordRepository 몫)
+public class TimeClock {
+    private static final TimeClock INSTANCE = new TimeClock();
+    private static final Path PATH = Paths.get("time-clock.jsonl");
+    private static final String CLOCK_IN = "clock-in";
+    private static final String CLOCK_OUT = "clock-out";
+    private static final long COALESCE_MILLIS = 300; // 연달아 찍는 출퇴근을 모으는 시간
+    private static final int MAX_BATCH = 50;
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(20);
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    // EDT에서 호출
+    public interface Listener {
+        void timeClockChanged();
+    }
+
+    // 출근 또는 퇴근 한 번 (checkIn은 퇴근일 때도 그 근무의 출근 시각)
+    private static class Punch {
+        private final String id;
+        private final String shiftId;
+        private final String name;
+        private final String action;
+        private final LocalDateTime checkIn;
+        private final LocalDateTime at;
+
+        private Punch(String id, String shiftId, String name, String action, LocalDateTime checkIn,
+                LocalDateTime at) {
+            this.id = id;
+            this.shiftId = shiftId;
+            this.name = name;
+            this.action = action;
+            this.checkIn = checkIn;
+            this.at = at;
+        }
+
+        private JsonObject toRecord() {
+            JsonObject record = new JsonObject();
+            record.addProperty("punch", id);
+            record.addProperty("shift", shiftId);
+            record.addProperty("name", name);
+            record.addProperty("action", action);
+            record.addProperty("checkIn", checkIn.toString());
+            record.addProperty("at", at.toString());
+            return record;
+        }
+
+        private static Punch fromRecord(JsonObject record) {
+            return new Punch(record.get("punch").getAsString(), record.get("shift").getAsString(),
+                    record.get("name").getAsString(), record.get("action").getAsString(),
+                    LocalDateTime.parse(record.get("checkIn").getAsString()),
+                    LocalDateTime.parse(record.get("at").getAsString()));
+        }
+
+        // 서버로 보내는 출퇴근 기록
+        private JsonObject toRequest() {
+            JsonObject body = new JsonObject();
+            body.addProperty("id", id);
+            body.addProperty("shiftId", shiftId);
+            body.addProperty("action", action);
+            body.addProperty("name", name);
+            body.addProperty("checkInTime", checkIn.toString());
+            if (CLOCK_OUT.equals(action)) {
+                body.addProperty("checkOutTime", at.toString());
+            }
+            return body;
+        }
+    }
+
+    private final Gson gson = new Gson();
+    private final Map<String, List<Employee>> shiftsByEmployee = new HashMap<>(); // 이름 -> 근무 (오래된 순)
+    private final Map<String, Employee> openShifts = new HashMap<>(); // 이름 -> 근무 중인 근무
+    private final Deque<Punch> unsynced = new ArrayDeque<>(); // 전송 대기 (기록 순)
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    // 전송 예약과 결과 처리를 순서대로 실행하는 단일 스레드 (전송 자체는 TaskScope 작업에서 실행)
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "time-clock");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileChannel channel; // this 잠금 안에서만 사용
+    private boolean sending;
+    private int failures;
+    private long nextAttemptAt;
+    private String lastError; // 마지막 전송 실패 (성공하면 null)
+    private volatile boolean batchSupported = true;
+
+    private TimeClock() {
+    }
+
+    public static TimeClock getInstance() {
+        return INSTANCE;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // 기록부를 재생하여 근무 중인 직원과 미전송 출퇴근을 복구하고, 필요한 기록만 남겨 다시 쓴 뒤 전송 시작
+    public synchronized void open() throws IOException {
+        List<Punch> punches = new ArrayList<>();
+        Set<String> synced = new HashSet<>();
+        if (Files.exists(PATH)) {
+            try (BufferedReader reader = Files.newBufferedReader(PATH, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        JsonObject record = gson.fromJson(line, JsonObject.class);
+                        if (record == null) {
+                            continue;
+                        }
+                        if (record.has("synced")) {
+                            for (JsonElement id : record.getAsJsonArray("synced")) {
+                                synced.add(id.getAsString());
+                            }
+                        } else {
+                            punches.add(Punch.fromRecord(record));
+                        }
+                    } catch (JsonSyntaxException | DateTimeParseException | IllegalStateException | NullPointerException e) {
+                        System.err.println("출퇴근 기록부의 손상된 줄 무시: " + e.getMessage()); // 쓰는 도중 종료된 마지막 줄 등
+                    }
+                }
+            }
+        }
+        for (Punch punch : punches) {
+            apply(punch);
+            if (!synced.contains(punch.id)) {
+                unsynced.add(punch);
+            }
+        }
+
+        // 미전송 출퇴근과 근무 중인 근무의 출근만 남김
+        Set<String> openShiftIds = new HashSet<>();
+        for (Employee shift : openShifts.values()) {
+            openShiftIds.add(shift.getId());
+        }
+        Path tempPath = PATH.resolveSibling(PATH.getFileName() + ".tmp");
+        int kept = 0;
+        try (Writer out = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            JsonArray keptSynced = new JsonArray();
+            for (Punch punch : punches) {
+                boolean pending = !synced.contains(punch.id);
+                if (pending || openShiftIds.contains(punch.shiftId)) {
+                    out.write(gson.toJson(punch.toRecord()));
+                    out.write('\n');
+                    kept++;
+                    if (!pending) {
+                        keptSynced.add(new JsonPrimitive(punch.id));
+                    }
+                }
+            }
+            if (keptSynced.size() > 0) {
+                out.write(gson.toJson(syncedRecord(keptSynced)));
+                out.write('\n');
+            }
+        }
+        try (FileChannel temp = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+            temp.force(true);
+        }
+        Files.move(tempPath, PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(PATH, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        System.out.printf("[TIMECLOCK] 기록 %d건 재생 (%d건 유지), 근무 중 %d명, 미전송 %d건%n", punches.size(), kept,
+                openShifts.size(), unsynced.size());
+        worker.execute(this::sync);
+    }
+
+    // 출근 기록 (이미 근무 중이면 IllegalStateException)
+    public Employee clockIn(String name) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Employee shift;
+        synchronized (this) {
+            if (openShifts.containsKey(name)) {
+                throw new IllegalStateException(name + "님은 이미 근무 중입니다.");
+            }
+            shift = record(new Punch(UUID.randomUUID().toString(), UUID.randomUUID().toString(), name, CLOCK_IN,
+                    now, now));
+        }
+        fire();
+        return shift;
+    }
+
+    // 퇴근 기록 (근무 중이 아니면 IllegalStateException)
+    public Employee clockOut(String name) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Employee shift;
+        synchronized (this) {
+            Employee open = openShifts.get(name);
+            if (open == null) {
+                throw new IllegalStateException(name + "님의 출근 기록이 없거나 이미 퇴근했습니다.");
+            }
+            shift = record(new Punch(UUID.randomUUID().toString(), open.getId(), name, CLOCK_OUT,
+                    open.getCheckInTime(), now));
+        }
+        fire();
+        return shift;
+    }
+
+    public synchronized boolean isWorking(String name) {
+        return openShifts.containsKey(name);
+    }
+
+    // 근무 중인 직원 (출근 순)
+    public synchronized List<Employee> getOpenShifts() {
+        List<Employee> shifts = new ArrayList<>(openShifts.values());
+        shifts.sort(Comparator.comparing(Employee::getCheckInTime));
+        return shifts;
+    }
+
+    // 직원의 근무 기록 (기록부에 남아 있는 것만, 오래된 순)
+    public synchronized List<Employee> getShifts(String name) {
+        return new ArrayList<>(shiftsByEmployee.getOrDefault(name, Collections.emptyList()));
+    }
+
+    public synchronized int getPendingCount() {
+        return unsynced.size();
+    }
+
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    // 잠금 안에서 호출: 기록부에 쓰고 디스크에 반영된 뒤에 상태 반영 (화면에 표시된 출퇴근은 재시작해도 남음)
+    // 서버 전송만 백그라운드에서 모아서 처리
+    private Employee record(Punch punch) {
+        if (channel == null) {
+            throw new IllegalStateException("출퇴근 기록부가 열려 있지 않습니다.");
+        }
+        try {
+            append(punch.toRecord());
+        } catch (IOException e) {
+            throw new IllegalStateException("출퇴근 기록부에 저장하지 못했습니다: " + e.getMessage(), e);
+        }
+        Employee shift = apply(punch);
+        unsynced.add(punch);
+        worker.schedule(this::sync, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+        return shift;
+    }
+
+    private Employee apply(Punch punch) {
+        if (CLOCK_IN.equals(punch.action)) {
+            Employee shift = new Employee(punch.shiftId, punch.name, punch.at, null);
+            openShifts.put(punch.name, shift);
+            shiftsByEmployee.computeIfAbsent(punch.name, k -> new ArrayList<>()).add(shift);
+            return shift;
+        }
+        Employee shift = openShifts.get(punch.name);
+        if (shift != null && shift.getId().equals(punch.shiftId)) {
+            shift.setCheckOutTime(punch.at);
+            openShifts.remove(punch.name);
+        }
+        return shift;
+    }
+
+    private synchronized void append(JsonObject record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((gson.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private static JsonObject syncedRecord(JsonArray ids) {
+        JsonObject record = new JsonObject();
+        record.add("synced", ids);
+        return record;
+    }
+
+    // worker에서 실행: 대기 중인 출퇴근을 최대 MAX_BATCH건씩 순서대로 전송 (한 번에 한 묶음만)
+    private void sync() {
+        List<Punch> batch = new ArrayList<>();
+        synchronized (this) {
+            if (sending || unsynced.isEmpty() || channel == null) {
+                return;
+            }
+            long wait = nextAttemptAt - System.currentTimeMillis();
+            if (wait > 0) {
+                worker.schedule(this::sync, wait, TimeUnit.MILLISECONDS);
+                return;
+            }
+            for (Iterator<Punch> it = unsynced.iterator(); it.hasNext() && batch.size() < MAX_BATCH; ) {
+                batch.add(it.next());
+            }
+            sending = true;
+        }
+        TaskScope.async(SEND_TIMEOUT, () -> send(batch))
+                .whenComplete((done, error) -> worker.execute(() -> sent(batch, done, error)));
+    }
+
+    // 처리된 앞부분 반환 (성공 또는 재시도해도 소용없는 거절), 하나도 처리하지 못하면 예외
+    private List<Punch> send(List<Punch> batch) throws IOException {
+        ApiClient api = ApiClient.getInstance();
+        if (batchSupported) {
+            JsonArray punches = new JsonArray();
+            StringBuilder ids = new StringBuilder();
+            for (Punch punch : batch) {
+                punches.add(punch.toRequest());
+                ids.append(punch.id);
+            }
+            // 같은 묶음을 다시 보내면 같은 키
+            String key = UUID.nameUUIDFromBytes(ids.toString().getBytes(StandardCharsets.UTF_8)).toString();
+            try {
+                api.sendTimeRecords(punches, key);
+                if (batch.size() > 1) {
+                    System.out.println("[TIMECLOCK] 출퇴근 " + batch.size() + "건 일괄 전송");
+                }
+                return batch;
+            } catch (ApiClient.HttpStatusException e) {
+                if (e.getCode() != 404 && e.getCode() != 405) {
+                    if (isRejected(e)) {
+                        System.err.println("출퇴근 일괄 전송 거절: " + e.getMessage());
+                        return batch;
+                    }
+                    throw e;
+                }
+                batchSupported = false; // 이후로는 한 건씩 전송
+            }
+        }
+
+        List<Punch> done = new ArrayList<>();
+        for (Punch punch : batch) {
+            try {
+                api.sendTimeRecord(punch.action, punch.toRequest(), punch.id);
+            } catch (ApiClient.HttpStatusException e) {
+                if (!isRejected(e)) {
+                    if (done.isEmpty()) {
+                        throw e;
+                    }
+                    return done; // 나머지는 순서를 지켜 다음에 재시도
+                }
+                System.err.println("출퇴근 전송 거절: " + punch.name + " " + punch.action + " " + e.getMessage());
+            } catch (IOException e) {
+                if (done.isEmpty()) {
+                    throw e;
+                }
+                return done;
+            }
+            done.add(punch);
+        }
+        return done;
+    }
+
+    private static boolean isRejected(ApiClient.HttpStatusException e) {
+        int code = e.getCode();
+        return code >= 400 && code < 500 && code != 408 && code != 429;
+    }
+
+    // worker에서 실행: 처리된 출퇴근을 기록부에 표시하고 남은 것이 있으면 이어서 전송
+    private void sent(List<Punch> batch, List<Punch> done, Throwable error) {
+        JsonArray ids = new JsonArray();
+        boolean more;
+        synchronized (this) {
+            sending = false;
+            int count = error == null ? done.size() : 0;
+            for (int i = 0; i < count; i++) {
+                ids.add(new JsonPrimitive(unsynced.removeFirst().id)); // 전송 중에는 앞부분이 바뀌지 않음
+            }
+            if (count == batch.size()) {
+                failures = 0;
+                nextAttemptAt = 0;
+                lastError = null;
+            } else {
+                failures++;
+                nextAttemptAt = System.currentTimeMillis() + backoff(failures);
+                Throwable cause = error != null && error.getCause() != null ? error.getCause() : error;
+                lastError = cause != null ? cause.getMessage() : "일부만 전송됨";
+                System.err.println("출퇴근 전송 실패: " + lastError + " (재시도 예정)");
+            }
+            more = !unsynced.isEmpty();
+        }
+        if (ids.size() > 0) {
+            try {
+                append(syncedRecord(ids));
+            } catch (IOException e) {
+                // 다음 실행 때 한 번 더 전송될 뿐 (서버가 id로 중복을 걸러냄)
+                System.err.println("출퇴근 기록부 쓰기 실패: " + e.getMessage());
+            }
+        }
+        fire();
+        if (more) {
+            sync();
+        }
+    }
+
+    // 지수 백오프 + 지터
+    private static long backoff(int failures) {
+        long delay = Math.min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << Math.min(failures - 1, 16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private void fire() {
+        SwingUtilities.invokeLater(() -> {
+            for (Listener listener : listeners) {
+                listener.timeClockChanged();
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package services;
+
+import models.Employee;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+// 출퇴근 기록 조회 조건: 출근일 기준 기간(양 끝 포함)과 직원 이름(null이면 전체)
+public final class TimeRecordQuery {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String employee;
+
+    public TimeRecordQuery(LocalDate from, LocalDate to, String employee) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("종료일이 시작일보다 앞섬: " + from + " ~ " + to);
+        }
+        this.from = from;
+        this.to = to;
+        this.employee = employee == null || employee.trim().isEmpty() ? null : employee.trim();
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getEmployee() {
+        return employee;
+    }
+
+    public boolean matches(Employee record) {
+        LocalDate day = record.getCheckInTime().toLocalDate();
+        return !day.isBefore(from) && !day.isAfter(to) && (employee == null || employee.equals(record.getName()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TimeRecordQuery)) {
+            return false;
+        }
+        TimeRecordQuery other = (TimeRecordQuery) o;
+        return from.equals(other.from) && to.equals(other.to) && Objects.equals(employee, other.employee);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, employee);
+    }
+
+    @Override
+    public String toString() {
+        return from + " ~ " + to + (employee == null ? "" : " " + employee);
+    }
+}
@@ -0,0 +1,313 @@
+package services;
+
+import models.Employee;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// 직원 출퇴근 기록 조회 (기간/직원별, 서버에서 페이지 단위로 받음)
+// - 퇴근까지 기록된 근무는 바뀌지 않으므로, 지난 날짜의 기록을 모두 받았고 근무 중인 기록이 없으면
+//   그 날짜를 완료로 표시하고 디스크(time-records.snapshot)에 보관
+// - 조회 기간이 모두 완료된 날짜면 서버에 묻지 않고 캐시에서 바로 응답 (직원별 조회 포함)
+// - 같은 페이지를 동시에 요청하면 하나의 조회로 합침 (표를 스크롤하는 동안 반복 요청됨)
+public class TimeRecordRepository {
+    public static final int PAGE_SIZE = 100;
+    private static final TimeRecordRepository INSTANCE = new TimeRecordRepository();
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(20);
+    private static final Path CACHE_PATH = Paths.get("time-records.snapshot");
+    private static final int MAX_CACHED_DAYS = 400;
+    private static final int MAX_TRACKED_QUERIES = 4;
+    private static final Comparator<Employee> BY_CHECK_IN = Comparator.comparing(Employee::getCheckInTime);
+
+    // 조건에 맞는 기록 중 offset번째부터 이어지는 기록
+    public static class Page {
+        private final int offset;
+        private final List<Employee> records;
+        private final int total;
+
+        Page(int offset, List<Employee> records, int total) {
+            this.offset = offset;
+            this.records = Collections.unmodifiableList(records);
+            this.total = total;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public List<Employee> getRecords() {
+            return records;
+        }
+
+        // 조건에 맞는 전체 기록 수
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    // 전체 직원 조회에서 받은 페이지 (모두 받으면 날짜를 완료로 표시)
+    private static class Progress {
+        private final Map<Integer, List<Employee>> chunks = new HashMap<>();
+        private int received;
+        private int total;
+        private boolean open; // 근무 중인 기록이 있었음
+
+        void add(Page page) {
+            if (chunks.putIfAbsent(page.getOffset(), page.getRecords()) == null) {
+                received += page.getRecords().size();
+                for (Employee record : page.getRecords()) {
+                    open |= !record.isClosed();
+                }
+            }
+            total = page.getTotal();
+        }
+
+        boolean isComplete() {
+            return received == total;
+        }
+    }
+
+    private final Gson gson = new Gson();
+    private final Object saveLock = new Object();
+    // 완료된 날짜 -> 그 날 출근한 기록 (출근 시각 순, 기록이 없던 날은 빈 목록), this로 보호
+    private final NavigableMap<LocalDate, List<Employee>> closedByDay = new TreeMap<>();
+    private final Map<List<Object>, CompletableFuture<Page>> inFlight = new HashMap<>();
+    private final Map<TimeRecordQuery, Progress> progress = new LinkedHashMap<TimeRecordQuery, Progress>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TimeRecordQuery, Progress> eldest) {
+            return size() > MAX_TRACKED_QUERIES; // 중간까지만 본 조회는 오래 기억하지 않음
+        }
+    };
+
+    private TimeRecordRepository() {
+    }
+
+    public static TimeRecordRepository getInstance() {
+        return INSTANCE;
+    }
+
+    // page번째 페이지 (캐시로 응답할 수 있으면 이미 완료된 future)
+    public synchronized CompletableFuture<Page> fetchPage(TimeRecordQuery query, int page) {
+        if (isCached(query)) {
+            return CompletableFuture.completedFuture(cachedPage(query, page));
+        }
+        List<Object> key = Arrays.asList(query, page);
+        CompletableFuture<Page> pending = inFlight.get(key);
+        if (pending == null) {
+            pending = TaskScope.async(FETCH_TIMEOUT, () -> download(query, page));
+            inFlight.put(key, pending);
+            pending.whenComplete((result, error) -> {
+                synchronized (this) {
+                    inFlight.remove(key);
+                }
+            });
+        }
+        return pending;
+    }
+
+    private boolean isCached(TimeRecordQuery query) {
+        for (LocalDate day = query.getFrom(); !day.isAfter(query.getTo()); day = day.plusDays(1)) {
+            if (!closedByDay.containsKey(day)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Page cachedPage(TimeRecordQuery query, int page) {
+        List<Employee> matching = new ArrayList<>();
+        for (List<Employee> records : closedByDay.subMap(query.getFrom(), true, query.getTo(), true).values()) {
+            for (Employee record : records) {
+                if (query.matches(record)) {
+                    matching.add(record);
+                }
+            }
+        }
+        int offset = Math.min(page * PAGE_SIZE, matching.size());
+        int end = Math.min(offset + PAGE_SIZE, matching.size());
+        return new Page(offset, new ArrayList<>(matching.subList(offset, end)), matching.size());
+    }
+
+    private Page download(TimeRecordQuery query, int page) throws IOException {
+        Page result = ApiClient.getInstance().fetchTimeRecords(query, page, PAGE_SIZE, response -> {
+            JsonElement body = gson.fromJson(response.body().charStream(), JsonElement.class);
+            if (body.isJsonArray()) {
+                // 페이지를 지원하지 않는 서버: 전체 목록에서 조건에 맞는 기록을 한 번에 반환
+                List<Employee> matching = new ArrayList<>();
+                for (Employee record : parseRecords(body.getAsJsonArray())) {
+                    if (query.matches(record)) {
+                        matching.add(record);
+                    }
+                }
+                matching.sort(BY_CHECK_IN);
+                return new Page(0, matching, matching.size());
+            }
+            JsonObject object = body.getAsJsonObject();
+            List<Employee> records = parseRecords(object.getAsJsonArray("data"));
+            int offset = page * PAGE_SIZE;
+            int total = object.has("total") ? object.get("total").getAsInt() : offset + records.size();
+            return new Page(offset, records, total);
+        });
+        remember(query, result);
+        return result;
+    }
+
+    // 지난 기간 전체를 모두 받았고 근무 중인 기록이 없으면 캐시에 보관
+    private void remember(TimeRecordQuery query, Page page) {
+        BinarySnapshot.Writer writer;
+        synchronized (this) {
+            if (query.getEmployee() != null || !query.getTo().isBefore(LocalDate.now())) {
+                return; // 직원별 조회는 그 날의 전체 기록이 아니고, 오늘 기록은 계속 바뀜
+            }
+            Progress received = progress.computeIfAbsent(query, q -> new Progress());
+            received.add(page);
+            if (!received.isComplete()) {
+                return;
+            }
+            progress.remove(query);
+            if (received.open) {
+                return;
+            }
+            Map<LocalDate, List<Employee>> byDay = new HashMap<>();
+            for (List<Employee> chunk : received.chunks.values()) {
+                for (Employee record : chunk) {
+                    byDay.computeIfAbsent(record.getCheckInTime().toLocalDate(), d -> new ArrayList<>()).add(record);
+                }
+            }
+            for (LocalDate day = query.getFrom(); !day.isAfter(query.getTo()); day = day.plusDays(1)) {
+                List<Employee> records = byDay.getOrDefault(day, new ArrayList<>());
+                records.sort(BY_CHECK_IN);
+                closedByDay.put(day, records);
+            }
+            while (closedByDay.size() > MAX_CACHED_DAYS) {
+                closedByDay.pollFirstEntry();
+            }
+            writer = snapshot();
+        }
+        save(writer);
+    }
+
+    // payload: [날짜 수 int]{epochDay long, 기록 수 int, {id, 이름, 출근, 퇴근}...}...
+    // 시각은 초 단위 로컬 시각 (UTC 기준 epoch 초로 인코딩)
+    private BinarySnapshot.Writer snapshot() {
+        BinarySnapshot.Writer writer = new BinarySnapshot.Writer().putInt(closedByDay.size());
+        for (Map.Entry<LocalDate, List<Employee>> entry : closedByDay.entrySet()) {
+            writer.putLong(entry.getKey().toEpochDay()).putInt(entry.getValue().size());
+            for (Employee record : entry.getValue()) {
+                writer.putString(record.getId()).putString(record.getName())
+                        .putLong(record.getCheckInTime().toEpochSecond(ZoneOffset.UTC))
+                        .putLong(record.getCheckOutTime().toEpochSecond(ZoneOffset.UTC));
+            }
+        }
+        return writer;
+    }
+
+    private void save(BinarySnapshot.Writer writer) {
+        synchronized (saveLock) {
+            try {
+                writer.writeTo(CACHE_PATH, BinarySnapshot.TIME_RECORDS);
+            } catch (IOException e) {
+                System.err.println("출퇴근 기록 캐시 저장 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    // 시작 시 디스크 캐시 로드 (없거나 손상되었으면 서버에서 다시 받음)
+    public void loadCache() {
+        long start = System.nanoTime();
+        NavigableMap<LocalDate, List<Employee>> loaded = new TreeMap<>();
+        int recordCount = 0;
+        try {
+            BinarySnapshot.Reader reader = BinarySnapshot.open(CACHE_PATH, BinarySnapshot.TIME_RECORDS);
+            if (reader == null) {
+                return;
+            }
+            int dayCount = reader.getInt();
+            for (int d = 0; d < dayCount; d++) {
+                LocalDate day = LocalDate.ofEpochDay(reader.getLong());
+                int count = reader.getInt();
+                List<Employee> records = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    records.add(new Employee(reader.getString(), reader.getString(),
+                            LocalDateTime.ofEpochSecond(reader.getLong(), 0, ZoneOffset.UTC),
+                            LocalDateTime.ofEpochSecond(reader.getLong(), 0, ZoneOffset.UTC)));
+                }
+                loaded.put(day, records);
+                recordCount += count;
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("출퇴근 기록 캐시 로드 실패: " + e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            loaded.forEach(closedByDay::putIfAbsent);
+        }
+        System.out.printf("[SNAPSHOT] 출퇴근 기록 %d일 %d건 로드 (%d us)%n", loaded.size(), recordCount,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+
+    private static List<Employee> parseRecords(JsonArray array) {
+        List<Employee> records = new ArrayList<>();
+        if (array == null) {
+            return records;
+        }
+        for (JsonElement element : array) {
+            JsonObject record = element.getAsJsonObject();
+            LocalDateTime checkIn = parseTime(record.get("checkInTime"));
+            if (checkIn == null) {
+                continue; // 출근 시각이 없는 기록은 표시할 수 없음
+            }
+            records.add(new Employee(
+                    record.has("_id") ? record.get("_id").getAsString() : null,
+                    record.get("name").getAsString(),
+                    checkIn,
+                    parseTime(record.get("checkOutTime"))));
+        }
+        return records;
+    }
+
+    // ISO 문자열(로컬 또는 오프셋 포함) 또는 이전 클라이언트가 Gson으로 보낸 {date, time} 객체
+    static LocalDateTime parseTime(JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            return null;
+        }
+        if (value.isJsonObject()) {
+            JsonObject date = value.getAsJsonObject().getAsJsonObject("date");
+            JsonObject time = value.getAsJsonObject().getAsJsonObject("time");
+            return LocalDateTime.of(date.get("year").getAsInt(), date.get("month").getAsInt(),
+                    date.get("day").getAsInt(), time.get("hour").getAsInt(), time.get("minute").getAsInt(),
+                    time.get("second").getAsInt());
+        }
+        String text = value.getAsString();
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return OffsetDateTime.parse(text).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+    }
+}
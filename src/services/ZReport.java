@@ -0,0 +1,240 @@
+package services;
+
+import models.MenuCodes;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.property.UnitValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 일일 마감 보고서 (Z 리포트)
+// 매출 기록 파일을 한 건씩 읽으면서 영수증 내역은 바로 PDF에 쓰고 (immediate flush, 큰 표는 주기적으로 flush)
+// 메뉴별/시간대별/테이블별 합계만 메모리에 유지하므로 주문 수와 관계없이 메모리 사용량이 일정함
+public class ZReport {
+    private static final int FLUSH_EVERY_ROWS = 50;
+
+    private final LocalDate day;
+    private final Path ledger;
+    private final Style headingStyle = new Style().setBold().setFontSize(14);
+
+    // 합계 (메뉴 수, 24시간, 테이블 수만큼만 커짐)
+    private final Map<String, MenuTotal> menus = new HashMap<>();
+    private final long[] hourSales = new long[24];
+    private final int[] hourReceipts = new int[24];
+    private final Map<Integer, long[]> tables = new TreeMap<>(); // 테이블 -> {영수증 수, 매출}
+    private long totalSales;
+    private int receiptCount;
+
+    private static class MenuTotal {
+        private final String name;
+        private long quantity;
+        private long sales;
+
+        private MenuTotal(String name) {
+            this.name = name;
+        }
+    }
+
+    public ZReport(LocalDate day, Path ledger) {
+        this.day = day;
+        this.ledger = ledger;
+    }
+
+    public void write(ReceiptTemplate template, OutputStream out) throws IOException {
+        PdfDocument pdf = new PdfDocument(new PdfWriter(out));
+        Document document = new Document(pdf, PageSize.A4, true); // 채워진 페이지는 바로 내보냄
+        template.applyFont(document);
+
+        document.add(new Paragraph("일일 마감 보고서 (Z) - " + day).addStyle(headingStyle).setFontSize(18));
+        document.add(new Paragraph("영수증 내역").addStyle(headingStyle));
+        Table receipts = new Table(UnitValue.createPercentArray(new float[] { 3, 2, 2, 3 }), true)
+                .useAllAvailableWidth();
+        receipts.addHeaderCell("시각");
+        receipts.addHeaderCell("테이블");
+        receipts.addHeaderCell("항목 수");
+        receipts.addHeaderCell("금액");
+        document.add(receipts);
+        if (Files.exists(ledger)) {
+            try (Reader reader = Files.newBufferedReader(ledger, StandardCharsets.UTF_8)) {
+                streamReceipts(new JsonReader(reader), receipts);
+            }
+        }
+        receipts.complete();
+
+        document.add(new AreaBreak());
+        document.add(new Paragraph("총 매출: " + totalSales + "원 (영수증 " + receiptCount + "건)")
+                .addStyle(headingStyle));
+        writeHours(document);
+        writeTables(document);
+        writeMenus(document);
+        document.close();
+    }
+
+    // 한 줄에 영수증 하나 (sales-yyyy-MM-dd.jsonl)
+    private void streamReceipts(JsonReader reader, Table receipts) throws IOException {
+        reader.setLenient(true); // 최상위 값 여러 개 허용
+        int rows = 0;
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            int tableNumber = 0;
+            String closedAt = "";
+            long total = 0;
+            int lineCount = 0;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "table":
+                        tableNumber = reader.nextInt();
+                        break;
+                    case "closedAt":
+                        closedAt = reader.nextString();
+                        break;
+                    case "total":
+                        total = reader.nextLong();
+                        break;
+                    case "lines":
+                        lineCount = readLines(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            int hour = closedAt.length() >= 13 ? Integer.parseInt(closedAt.substring(11, 13)) : 0;
+            hourSales[hour] += total;
+            hourReceipts[hour]++;
+            long[] table = tables.computeIfAbsent(tableNumber, k -> new long[2]);
+            table[0]++;
+            table[1] += total;
+            totalSales += total;
+            receiptCount++;
+
+            receipts.addCell(closedAt.length() >= 16 ? closedAt.substring(11, 16) : closedAt);
+            receipts.addCell(String.valueOf(tableNumber));
+            receipts.addCell(String.valueOf(lineCount));
+            receipts.addCell(total + "원");
+            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                receipts.flush(); // 지금까지의 행을 문서에 쓰고 메모리에서 해제
+            }
+        }
+    }
+
+    private int readLines(JsonReader reader) throws IOException {
+        int count = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String menuId = null;
+            String name = "";
+            int quantity = 0;
+            int price = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "menuId":
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.nextNull();
+                        } else {
+                            menuId = reader.nextString();
+                        }
+                        break;
+                    case "name":
+                        name = reader.nextString();
+                        break;
+                    case "qty":
+                        quantity = reader.nextInt();
+                        break;
+                    case "price":
+                        price = reader.nextInt();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            String finalName = name;
+            // 메뉴 id와 이름이 모두 같은 줄끼리 합침 (MenuCodes와 같은 기준)
+            MenuTotal menu = menus.computeIfAbsent(MenuCodes.key(menuId, name), k -> new MenuTotal(finalName));
+            menu.quantity += quantity;
+            menu.sales += (long) quantity * price;
+            count++;
+        }
+        reader.endArray();
+        return count;
+    }
+
+    private void writeHours(Document document) {
+        document.add(new Paragraph("시간대별 매출").addStyle(headingStyle));
+        Table table = new Table(UnitValue.createPercentArray(new float[] { 2, 2, 3 })).useAllAvailableWidth();
+        table.addHeaderCell("시간");
+        table.addHeaderCell("영수증");
+        table.addHeaderCell("매출");
+        for (int hour = 0; hour < 24; hour++) {
+            if (hourReceipts[hour] == 0) {
+                continue;
+            }
+            table.addCell(String.format("%02d:00 - %02d:59", hour, hour));
+            table.addCell(String.valueOf(hourReceipts[hour]));
+            table.addCell(hourSales[hour] + "원");
+        }
+        document.add(table);
+    }
+
+    private void writeTables(Document document) {
+        document.add(new Paragraph("테이블별 매출").addStyle(headingStyle));
+        Table table = new Table(UnitValue.createPercentArray(new float[] { 2, 2, 3 })).useAllAvailableWidth();
+        table.addHeaderCell("테이블");
+        table.addHeaderCell("영수증");
+        table.addHeaderCell("매출");
+        for (Map.Entry<Integer, long[]> entry : tables.entrySet()) {
+            table.addCell("Table " + entry.getKey());
+            table.addCell(String.valueOf(entry.getValue()[0]));
+            table.addCell(entry.getValue()[1] + "원");
+        }
+        document.add(table);
+    }
+
+    // 매출이 큰 메뉴부터
+    private void writeMenus(Document document) {
+        document.add(new Paragraph("메뉴별 매출").addStyle(headingStyle));
+        List<MenuTotal> sorted = new ArrayList<>(menus.values());
+        sorted.sort((a, b) -> Long.compare(b.sales, a.sales));
+
+        Table table = new Table(UnitValue.createPercentArray(new float[] { 4, 2, 3 }), true).useAllAvailableWidth();
+        table.addHeaderCell("메뉴");
+        table.addHeaderCell("수량");
+        table.addHeaderCell("매출");
+        document.add(table);
+        int rows = 0;
+        for (MenuTotal menu : sorted) {
+            table.addCell(menu.name);
+            table.addCell(String.valueOf(menu.quantity));
+            table.addCell(menu.sales + "원");
+            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                table.flush();
+            }
+        }
+        table.complete();
+    }
+}